@@ -0,0 +1,134 @@
+package jakojaannos.api.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.NumberInvalidException;
+import net.minecraft.command.SyntaxErrorException;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Cursor over the raw argument array of a command. Arguments are read in place, starting from the offset the
+ * {@link CommandTree} dispatched at, so the array is never copied or split. Parsing is delegated to the
+ * {@link CommandBase} helpers, so error messages are the same as with vanilla commands.
+ * <p>
+ * Reading past the last argument throws a {@link SyntaxErrorException}.
+ */
+public final class ArgumentReader {
+    private final String[] args;
+    private int cursor;
+
+    public ArgumentReader(String[] args, int offset) {
+        this.args = args;
+        this.cursor = offset;
+    }
+
+    /**
+     * Gets the index of the next argument in the raw argument array
+     */
+    public int getIndex() {
+        return cursor;
+    }
+
+    /**
+     * Gets the number of arguments left
+     */
+    public int remaining() {
+        return Math.max(0, args.length - cursor);
+    }
+
+    public boolean hasNext() {
+        return cursor < args.length;
+    }
+
+    /**
+     * Gets the next argument without advancing
+     */
+    public String peek() throws CommandException {
+        require(1);
+        return args[cursor];
+    }
+
+    /**
+     * Skips given number of arguments
+     */
+    public void skip(int count) throws CommandException {
+        require(count);
+        cursor += count;
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Parsing
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    public String next() throws CommandException {
+        require(1);
+        return args[cursor++];
+    }
+
+    public int nextInt() throws CommandException {
+        return CommandBase.parseInt(next());
+    }
+
+    public int nextInt(int min, int max) throws CommandException {
+        return CommandBase.parseInt(next(), min, max);
+    }
+
+    public long nextLong() throws CommandException {
+        return CommandBase.parseLong(next());
+    }
+
+    public double nextDouble() throws CommandException {
+        return CommandBase.parseDouble(next());
+    }
+
+    public double nextDouble(double min, double max) throws CommandException {
+        return CommandBase.parseDouble(next(), min, max);
+    }
+
+    public boolean nextBoolean() throws CommandException {
+        return CommandBase.parseBoolean(next());
+    }
+
+    /**
+     * Reads a single, possibly relative (<c>~</c>), coordinate
+     *
+     * @param base        Value relative coordinates are relative to
+     * @param centerBlock Whether integer coordinates should be offset to block center
+     */
+    public double nextCoordinate(double base, boolean centerBlock) throws NumberInvalidException, SyntaxErrorException {
+        require(1);
+        return CommandBase.parseDouble(base, args[cursor++], centerBlock);
+    }
+
+    /**
+     * Reads three, possibly relative, coordinates as a block position. Relative coordinates are relative to the sender.
+     */
+    public BlockPos nextBlockPos(ICommandSender sender, boolean centerBlock) throws CommandException {
+        require(3);
+        BlockPos pos = CommandBase.parseBlockPos(sender, args, cursor, centerBlock);
+        cursor += 3;
+        return pos;
+    }
+
+    /**
+     * Joins all remaining arguments with spaces, for free-form text at the end of a command
+     */
+    public String rest() {
+        String rest = cursor < args.length ? CommandBase.buildString(args, cursor) : "";
+        cursor = args.length;
+        return rest;
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void require(int count) throws SyntaxErrorException {
+        if (args.length - cursor < count) {
+            throw new SyntaxErrorException();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package jakojaannos.api.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Base for leaf commands of a {@link CommandTree}. When dispatched from a tree, leaves read their arguments through an
+ * {@link ArgumentReader} positioned right after the subcommand name, instead of receiving a trimmed copy of the
+ * argument array. Leaves still work as regular top-level commands, in which case the reader starts at zero.
+ */
+public abstract class CommandLeaf extends CommandBase {
+    /**
+     * Executes the command. Arguments of this command start at the reader's current position.
+     */
+    public abstract void execute(MinecraftServer server, ICommandSender sender, ArgumentReader args) throws CommandException;
+
+    @Override
+    public final void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        execute(server, sender, new ArgumentReader(args, 0));
+    }
+}
@@ -0,0 +1,174 @@
+package jakojaannos.api.command;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommand;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Command which dispatches to subcommands by the first argument. Subcommand names and aliases are indexed in a
+ * {@link PrefixTrie}, so completion and dispatch cost does not grow with the number of subcommands.
+ * <p>
+ * Trees can be nested freely. Nested trees and {@link CommandLeaf} subcommands are dispatched without copying the
+ * argument array, leaves read their arguments in place through an {@link ArgumentReader}. Other subcommands receive a
+ * trimmed copy of the arguments they are interested in.
+ * <pre><c>   register(new CommandTree("mymod", "commands.mymod.usage", 2)
+ *         .addSubcommand(new CommandFoo())
+ *         .addSubcommand(new CommandTree("bar", "commands.mymod.bar.usage", 2)
+ *                 .addSubcommand(new CommandBarBaz())));</c></pre>
+ */
+public class CommandTree extends CommandBase {
+    private final String name;
+    private final String usage;
+    private final int permissionLevel;
+    private final PrefixTrie<ICommand> subcommands = new PrefixTrie<>();
+
+    public CommandTree(String name, String usage, int permissionLevel) {
+        this.name = name;
+        this.usage = usage;
+        this.permissionLevel = permissionLevel;
+    }
+
+    /**
+     * Adds a subcommand. The subcommand is available by its name and all of its aliases.
+     */
+    public CommandTree addSubcommand(ICommand command) {
+        subcommands.put(command.getName(), command);
+        for (String alias : command.getAliases()) {
+            subcommands.put(alias, command);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the subcommand with given name or alias
+     */
+    @Nullable
+    public ICommand getSubcommand(String name) {
+        return subcommands.get(name);
+    }
+
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getUsage(ICommandSender sender) {
+        return usage;
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return permissionLevel;
+    }
+
+
+    @Override
+    public void execute(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+        execute(server, sender, args, 0);
+    }
+
+    @Override
+    public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, @Nullable BlockPos targetPos) {
+        return getTabCompletions(server, sender, args, 0, targetPos);
+    }
+
+    @Override
+    public boolean isUsernameIndex(String[] args, int index) {
+        return isUsernameIndex(args, 0, index);
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Offset-based dispatch
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    protected void execute(MinecraftServer server, ICommandSender sender, String[] args, int offset) throws CommandException {
+        if (offset >= args.length) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+
+        ICommand subcommand = subcommands.get(args[offset]);
+        if (subcommand == null) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+        if (!subcommand.checkPermission(server, sender)) {
+            throw new CommandException("commands.generic.permission");
+        }
+
+        if (subcommand instanceof CommandTree) {
+            ((CommandTree) subcommand).execute(server, sender, args, offset + 1);
+        } else if (subcommand instanceof CommandLeaf) {
+            ((CommandLeaf) subcommand).execute(server, sender, new ArgumentReader(args, offset + 1));
+        } else {
+            subcommand.execute(server, sender, Arrays.copyOfRange(args, offset + 1, args.length));
+        }
+    }
+
+    protected List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, int offset, @Nullable BlockPos targetPos) {
+        if (offset >= args.length) {
+            return Collections.emptyList();
+        }
+
+        if (offset == args.length - 1) {
+            return filterPermitted(server, sender, subcommands.complete(args[offset]));
+        }
+
+        ICommand subcommand = subcommands.get(args[offset]);
+        if (subcommand == null || !subcommand.checkPermission(server, sender)) {
+            return Collections.emptyList();
+        }
+
+        if (subcommand instanceof CommandTree) {
+            return ((CommandTree) subcommand).getTabCompletions(server, sender, args, offset + 1, targetPos);
+        }
+        return subcommand.getTabCompletions(server, sender, Arrays.copyOfRange(args, offset + 1, args.length), targetPos);
+    }
+
+    protected boolean isUsernameIndex(String[] args, int offset, int index) {
+        if (index <= offset || offset >= args.length) {
+            return false;
+        }
+
+        ICommand subcommand = subcommands.get(args[offset]);
+        if (subcommand == null) {
+            return false;
+        }
+
+        if (subcommand instanceof CommandTree) {
+            return ((CommandTree) subcommand).isUsernameIndex(args, offset + 1, index);
+        }
+        return subcommand.isUsernameIndex(Arrays.copyOfRange(args, offset + 1, args.length), index - offset - 1);
+    }
+
+    /**
+     * Removes completions the sender has no permission to use. The cached list is returned as-is unless something
+     * actually needs to be removed.
+     */
+    private List<String> filterPermitted(MinecraftServer server, ICommandSender sender, List<String> completions) {
+        List<String> filtered = null;
+        for (int i = 0; i < completions.size(); i++) {
+            String completion = completions.get(i);
+            ICommand subcommand = subcommands.get(completion);
+            boolean permitted = subcommand != null && subcommand.checkPermission(server, sender);
+
+            if (!permitted && filtered == null) {
+                filtered = new ArrayList<>(completions.subList(0, i));
+            } else if (permitted && filtered != null) {
+                filtered.add(completion);
+            }
+        }
+        return filtered == null ? completions : filtered;
+    }
+}
@@ -0,0 +1,163 @@
+package jakojaannos.api.command;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Case-insensitive prefix tree mapping string keys to values. Intended for command names, subcommands and argument
+ * suggestions, where the same prefixes are queried over and over again on every keystroke.
+ * <p>
+ * Completions are computed once per node and cached until a key is inserted below that node, so repeated queries
+ * only cost a walk down the trie and no allocations. Lists returned are unmodifiable.
+ */
+public final class PrefixTrie<T> {
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Creates a trie with given keys mapped to themselves. Convenient for static argument suggestions.
+     */
+    public static PrefixTrie<String> of(Iterable<String> keys) {
+        PrefixTrie<String> trie = new PrefixTrie<>();
+        for (String key : keys) {
+            trie.put(key, key);
+        }
+        return trie;
+    }
+
+    /**
+     * Creates a trie with given keys mapped to themselves. Convenient for static argument suggestions.
+     */
+    public static PrefixTrie<String> of(String... keys) {
+        return of(Arrays.asList(keys));
+    }
+
+
+    /**
+     * Gets the number of keys in this trie
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Maps the key to given value, replacing the previous value if one exists.
+     *
+     * @return the previous value or null if there was none
+     */
+    @Nullable
+    public T put(String key, T value) {
+        Node<T> node = root;
+        node.completions = null;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrCreateChild(toLower(key.charAt(i)));
+            node.completions = null;
+        }
+
+        T previous = node.value;
+        if (node.key == null) {
+            size++;
+        }
+        node.key = key;
+        node.value = value;
+        return previous;
+    }
+
+    /**
+     * Gets the value mapped to given key, ignoring case
+     */
+    @Nullable
+    public T get(String key) {
+        Node<T> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Gets all keys starting with given prefix, ignoring case. Keys are sorted alphabetically.
+     */
+    public List<String> complete(String prefix) {
+        Node<T> node = find(prefix);
+        return node == null ? Collections.emptyList() : node.getCompletions();
+    }
+
+
+    @Nullable
+    private Node<T> find(String key) {
+        Node<T> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(toLower(key.charAt(i)));
+        }
+        return node;
+    }
+
+    private static char toLower(char c) {
+        return Character.toLowerCase(c);
+    }
+
+
+    private static final class Node<T> {
+        private static final char[] NO_CHARS = new char[0];
+
+        // Children are kept sorted by character, which keeps completions in alphabetical order for free
+        private char[] chars = NO_CHARS;
+        private Node<T>[] children = newArray(0);
+
+        @Nullable String key;
+        @Nullable T value;
+        @Nullable List<String> completions;
+
+        @Nullable
+        Node<T> getChild(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        Node<T> getOrCreateChild(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -(index + 1);
+            char[] newChars = new char[chars.length + 1];
+            Node<T>[] newChildren = newArray(children.length + 1);
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            Node<T> child = new Node<>();
+            newChars[insertAt] = c;
+            newChildren[insertAt] = child;
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+
+        List<String> getCompletions() {
+            if (completions == null) {
+                List<String> keys = new ArrayList<>();
+                collectKeys(keys);
+                completions = Collections.unmodifiableList(keys);
+            }
+            return completions;
+        }
+
+        private void collectKeys(List<String> keys) {
+            if (key != null) {
+                keys.add(key);
+            }
+            for (Node<T> child : children) {
+                child.collectKeys(keys);
+            }
+        }
+
+        private static <T> Node<T>[] newArray(int length) {
+            // noinspection unchecked (Generic array creation)
+            return (Node<T>[]) new Node[length];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Utilities for building large command trees with fast tab completion and dispatch
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+@API(owner = "jakojaannos-lib", provides = "jakojaannos-api-command", apiVersion = "0.0.0")
+package jakojaannos.api.command;
+
+import mcp.MethodsReturnNonnullByDefault;
+import net.minecraftforge.fml.common.API;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,111 @@
+package jakojaannos.api.event;
+
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.MinecraftForge;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Typed event channel for high-frequency events, where going through {@link MinecraftForge#EVENT_BUS} would be too
+ * heavy. Listeners are plain interfaces with whatever (preferably primitive) arguments the event needs, so firing an
+ * event does not allocate anything:
+ * <pre><c>   public interface IPollutionListener {
+ *     void onPollutionChanged(World world, int x, int y, int z, float amount);
+ * }
+ *
+ * for (IPollutionListener listener : channel.getListeners()) {
+ *     listener.onPollutionChanged(world, x, y, z, amount);
+ * }</c></pre>
+ * Listeners are stored in a copy-on-write array, so firing is lock-free and costs just a loop over an empty array
+ * when nobody listens. Subscribing is comparatively expensive and should not happen in hot paths.
+ * <p>
+ * Channels are obtained from {@link IEventChannelManager}, which allows mods to share channels by name.
+ *
+ * @param <L> Type of the listener interface
+ */
+public final class EventChannel<L> {
+    private final ResourceLocation name;
+    private final Class<L> listenerType;
+    private final AtomicReference<L[]> listeners;
+
+    public EventChannel(ResourceLocation name, Class<L> listenerType) {
+        this.name = name;
+        this.listenerType = listenerType;
+        this.listeners = new AtomicReference<>(newArray(0));
+    }
+
+    public ResourceLocation getName() {
+        return name;
+    }
+
+    public Class<L> getListenerType() {
+        return listenerType;
+    }
+
+    /**
+     * Gets the current listeners. Returned array is shared, DO NOT MODIFY.
+     */
+    public L[] getListeners() {
+        return listeners.get();
+    }
+
+    /**
+     * Checks if there are any listeners. Use for skipping expensive argument computations when nobody listens.
+     */
+    public boolean hasListeners() {
+        return listeners.get().length != 0;
+    }
+
+    /**
+     * Adds a listener to this channel
+     */
+    public void subscribe(L listener) {
+        L[] current;
+        L[] updated;
+        do {
+            current = listeners.get();
+            updated = newArray(current.length + 1);
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = listener;
+        } while (!listeners.compareAndSet(current, updated));
+    }
+
+    /**
+     * Removes a listener from this channel
+     *
+     * @return true if the listener was subscribed
+     */
+    public boolean unsubscribe(L listener) {
+        L[] current;
+        L[] updated;
+        do {
+            current = listeners.get();
+
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                return false;
+            }
+
+            updated = newArray(current.length - 1);
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } while (!listeners.compareAndSet(current, updated));
+        return true;
+    }
+
+
+    private static int indexOf(Object[] array, Object element) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private L[] newArray(int length) {
+        // noinspection unchecked (Array of the listener type, created via reflection)
+        return (L[]) Array.newInstance(listenerType, length);
+    }
+}
@@ -0,0 +1,23 @@
+package jakojaannos.api.event;
+
+import jakojaannos.api.lib.IApiInstance;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.GameRegistry.ObjectHolder;
+
+/**
+ * Provides named {@link EventChannel EventChannels}, allowing multiple mods to fire and listen to the same events.
+ * Get the instance via {@link ObjectHolder @ObjectHolder}:
+ * <pre><c>   @ObjectHolder("jakojaannos-lib:eventchannels")
+ * public static final IEventChannelManager EVENT_CHANNELS = null;</c></pre>
+ * Resolve the channel once and keep the reference, lookups by name are not meant for hot paths.
+ */
+public interface IEventChannelManager extends IApiInstance {
+    /**
+     * Gets the channel with given name, creating it if it does not exist yet.
+     *
+     * @param name         Name of the channel
+     * @param listenerType Type of the listener interface of the channel
+     * @throws IllegalArgumentException if channel exists, but with a different listener type
+     */
+    <L> EventChannel<L> getChannel(ResourceLocation name, Class<L> listenerType);
+}
@@ -0,0 +1,12 @@
+/**
+ * Lightweight typed event channels for high-frequency inter-mod events
+ */
+@ParametersAreNonnullByDefault
+@MethodsReturnNonnullByDefault
+@API(owner = "jakojaannos-lib", provides = "jakojaannos-api-event", apiVersion = "0.0.0")
+package jakojaannos.api.event;
+
+import mcp.MethodsReturnNonnullByDefault;
+import net.minecraftforge.fml.common.API;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,250 @@
+package jakojaannos.api.helpers;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.network.play.server.SPacketChunkData;
+import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes large amounts of blocks at once. Writes are queued and grouped per chunk section, and on {@link #flush()}
+ * written directly to the chunk storage. Lighting, client sync and neighbor updates are then done once per touched
+ * chunk instead of once per block:
+ * <ul>
+ * <li> Sky light and height map are regenerated per chunk. Block light is only re-checked for blocks which changed
+ * light emission, or changed opacity next to existing block light.
+ * <li> Each touched chunk is sent to watching players in a single packet containing only the touched sections.
+ * <li> Neighbor updates are sent only to blocks outside the written volume, blocks inside it are consistent by
+ * construction.
+ * </ul>
+ * Writes bypass {@link net.minecraft.block.Block#onBlockAdded onBlockAdded} and
+ * {@link net.minecraft.block.Block#breakBlock breakBlock}, so use this for placing structures, not for simulating
+ * players placing/breaking blocks. Old tile entities are removed and new ones are created as blocks are written.
+ * <p>
+ * Not thread-safe, use from the thread owning the world.
+ */
+public class BulkBlockWriter {
+    private final World world;
+    private final Long2ObjectOpenHashMap<ChunkBatch> chunks = new Long2ObjectOpenHashMap<>();
+
+    public BulkBlockWriter(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Queues a block write. Writes outside the world height are ignored. If the same position is written multiple
+     * times, the last write wins.
+     */
+    public void setBlockState(BlockPos pos, IBlockState state) {
+        if (pos.getY() < 0 || pos.getY() >= 256) {
+            return;
+        }
+
+        int chunkX = pos.getX() >> 4;
+        int chunkZ = pos.getZ() >> 4;
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+
+        ChunkBatch batch = chunks.get(key);
+        if (batch == null) {
+            batch = new ChunkBatch(chunkX, chunkZ);
+            chunks.put(key, batch);
+        }
+        batch.add(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+    }
+
+    /**
+     * Gets the number of chunks with queued writes
+     */
+    public int getPendingChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * Writes all queued blocks, then does the lighting, client sync and neighbor updates for the touched chunks.
+     */
+    public void flush() {
+        if (chunks.isEmpty()) {
+            return;
+        }
+
+        LongOpenHashSet written = new LongOpenHashSet();
+        LongArrayList lightChecks = new LongArrayList();
+        List<Chunk> touched = new ArrayList<>(chunks.size());
+        IntArrayList touchedSections = new IntArrayList(chunks.size());
+        for (ChunkBatch batch : chunks.values()) {
+            Chunk chunk = world.getChunkFromChunkCoords(batch.chunkX, batch.chunkZ);
+            int sectionMask = batch.write(chunk, written, lightChecks);
+
+            if (sectionMask != 0) {
+                chunk.generateSkylightMap();
+                chunk.markDirty();
+                touched.add(chunk);
+                touchedSections.add(sectionMask);
+            }
+        }
+        chunks.clear();
+
+        for (int i = 0; i < lightChecks.size(); i++) {
+            world.checkLightFor(EnumSkyBlock.BLOCK, BlockPos.fromLong(lightChecks.getLong(i)));
+        }
+
+        // Sync only after lighting is done, clients do not re-light chunks they receive
+        for (int i = 0; i < touched.size(); i++) {
+            syncToClients(touched.get(i), touchedSections.getInt(i));
+        }
+
+        if (!world.isRemote) {
+            notifyNeighbors(written);
+        }
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private void syncToClients(Chunk chunk, int sectionMask) {
+        if (world instanceof WorldServer) {
+            PlayerChunkMapEntry entry = ((WorldServer) world).getPlayerChunkMap().getEntry(chunk.x, chunk.z);
+            if (entry != null) {
+                entry.sendPacket(new SPacketChunkData(chunk, sectionMask));
+            }
+        } else if (world.isRemote) {
+            int minY = Integer.numberOfTrailingZeros(sectionMask) << 4;
+            int maxY = ((Integer.SIZE - Integer.numberOfLeadingZeros(sectionMask)) << 4) - 1;
+            world.markBlockRangeForRenderUpdate(chunk.x << 4, minY, chunk.z << 4, (chunk.x << 4) + 15, maxY, (chunk.z << 4) + 15);
+        }
+    }
+
+    private void notifyNeighbors(LongOpenHashSet written) {
+        for (long packed : written) {
+            BlockPos pos = BlockPos.fromLong(packed);
+            IBlockState state = world.getBlockState(pos);
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos neighbor = pos.offset(facing);
+                if (!written.contains(neighbor.toLong())) {
+                    world.neighborChanged(neighbor, state.getBlock(), pos);
+                }
+            }
+        }
+    }
+
+    private static boolean hasBlockLightAround(World world, BlockPos pos) {
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            if (world.getLightFor(EnumSkyBlock.BLOCK, pos.offset(facing)) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private final class ChunkBatch {
+        final int chunkX;
+        final int chunkZ;
+
+        // Writes grouped by section. Positions are packed as "y << 8 | z << 4 | x" in section-local coordinates
+        final IntArrayList[] positions = new IntArrayList[16];
+        final List<IBlockState>[] states = newStateLists();
+
+        ChunkBatch(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        void add(int x, int y, int z, IBlockState state) {
+            int section = y >> 4;
+            if (positions[section] == null) {
+                positions[section] = new IntArrayList();
+                states[section] = new ArrayList<>();
+            }
+            positions[section].add((y & 15) << 8 | z << 4 | x);
+            states[section].add(state);
+        }
+
+        /**
+         * @return bitmask of sections which actually changed
+         */
+        int write(Chunk chunk, LongOpenHashSet written, LongArrayList lightChecks) {
+            ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+            int sectionMask = 0;
+
+            for (int section = 0; section < 16; section++) {
+                if (positions[section] == null) {
+                    continue;
+                }
+
+                ExtendedBlockStorage storage = storageArray[section];
+                if (storage == Chunk.NULL_BLOCK_STORAGE) {
+                    storage = new ExtendedBlockStorage(section << 4, world.provider.hasSkyLight());
+                    storageArray[section] = storage;
+                }
+
+                IntArrayList sectionPositions = positions[section];
+                List<IBlockState> sectionStates = states[section];
+                for (int i = 0; i < sectionPositions.size(); i++) {
+                    int packed = sectionPositions.getInt(i);
+                    int x = packed & 15;
+                    int z = (packed >> 4) & 15;
+                    int y = (packed >> 8) & 15;
+
+                    IBlockState oldState = storage.get(x, y, z);
+                    IBlockState newState = sectionStates.get(i);
+                    if (oldState == newState) {
+                        continue;
+                    }
+
+                    BlockPos pos = new BlockPos((chunkX << 4) + x, (section << 4) + y, (chunkZ << 4) + z);
+                    if (oldState.getBlock().hasTileEntity(oldState)) {
+                        // Through the chunk, world would first create the old tile entity if it was missing
+                        chunk.removeTileEntity(pos);
+                    }
+
+                    int oldOpacity = oldState.getLightOpacity(world, pos);
+                    int oldLight = oldState.getLightValue(world, pos);
+                    storage.set(x, y, z, newState);
+                    if (newState.getBlock().hasTileEntity(newState)) {
+                        // Create right away like vanilla does, so that the chunk packet carries it and it starts ticking
+                        TileEntity tileEntity = newState.getBlock().createTileEntity(world, newState);
+                        if (tileEntity != null) {
+                            world.setTileEntity(pos, tileEntity);
+                        }
+                    }
+                    int newOpacity = newState.getLightOpacity(world, pos);
+                    int newLight = newState.getLightValue(world, pos);
+
+                    boolean needsLightCheck = oldLight != newLight
+                            || (newOpacity > oldOpacity && storage.getBlockLight(x, y, z) > 0)
+                            || (newOpacity < oldOpacity && hasBlockLightAround(world, pos));
+                    if (needsLightCheck) {
+                        lightChecks.add(pos.toLong());
+                    }
+
+                    written.add(pos.toLong());
+                    sectionMask |= 1 << section;
+                }
+            }
+
+            return sectionMask;
+        }
+
+        private List<IBlockState>[] newStateLists() {
+            // noinspection unchecked (Generic array creation)
+            return (List<IBlockState>[]) new List[16];
+        }
+    }
+}
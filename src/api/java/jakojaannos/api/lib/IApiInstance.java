@@ -51,6 +51,8 @@ import net.minecraftforge.registries.IForgeRegistry;
  * <pre><c>   @ObjectHolder("modid:managername")
  * public static final ISystemInterface instance = null;</c></pre>
  * </ul>
+ * Managers which are expensive to set up and not necessarily used by anyone can be registered via
+ * {@link LazyApiInstance}, which defers creating the implementation until first access.
  */
 public interface IApiInstance extends IForgeRegistryEntry<IApiInstance> {
 }
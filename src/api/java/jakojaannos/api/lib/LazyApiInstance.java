@@ -0,0 +1,111 @@
+package jakojaannos.api.lib;
+
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.GameRegistry;
+import net.minecraftforge.fml.common.registry.GameRegistry.ObjectHolder;
+import net.minecraftforge.registries.IForgeRegistry;
+import net.minecraftforge.registries.IForgeRegistryEntry;
+
+import java.util.function.Supplier;
+
+/**
+ * Lightweight registry entry for {@link IApiInstance} managers which should only be constructed when someone actually
+ * uses them. The actual implementation is created on first call to {@link #get()}, after first initializing all
+ * declared dependencies (depth-first, so dependencies are always initialized before their dependants).
+ * <p>
+ * Registering works like with regular managers, just wrap the factory. Use a constructor reference or similar, so
+ * that the implementation class is not even loaded before it is needed:
+ * <pre><c>   event.getRegistry().register(new LazyApiInstance<>(SystemImplementation::new,
+ *                                                   new ResourceLocation("othermod:othermanager"))
+ *         .setRegistryName("modid:managername"));</c></pre>
+ * Users then hold the handle instead of the interface:
+ * <pre><c>   @ObjectHolder("modid:managername")
+ * public static final{@literal LazyApiInstance<ISystemInterface>} instance = null;
+ *
+ * instance.get().foo();</c></pre>
+ * Dependencies may be either lazy or regular managers. Circular dependencies are detected and reported when the
+ * cycle is first initialized.
+ *
+ * @param <T> Type of the exposed manager interface
+ * @see ObjectHolder
+ */
+public final class LazyApiInstance<T> extends IForgeRegistryEntry.Impl<IApiInstance> implements IApiInstance {
+    // Single lock for all lazy instances. Initializations are rare and may recurse to dependencies, per-instance locks
+    // could deadlock if two threads happened to initialize the same dependency chain from opposite ends.
+    private static final Object LOCK = new Object();
+
+    private final Supplier<? extends T> factory;
+    private final ResourceLocation[] dependencies;
+
+    private volatile T instance;
+    private boolean initializing;
+
+    /**
+     * @param factory      Creates the actual manager instance
+     * @param dependencies Registry names of managers that must be initialized before this one
+     */
+    public LazyApiInstance(Supplier<? extends T> factory, ResourceLocation... dependencies) {
+        this.factory = factory;
+        this.dependencies = dependencies.clone();
+    }
+
+    /**
+     * Checks whether the actual instance has already been created
+     */
+    public boolean isInitialized() {
+        return instance != null;
+    }
+
+    /**
+     * Gets the actual manager instance, creating it and its dependencies if necessary
+     *
+     * @throws IllegalStateException if a dependency is missing or dependencies are circular
+     */
+    public T get() {
+        T result = instance;
+        if (result != null) {
+            return result;
+        }
+
+        synchronized (LOCK) {
+            if (instance == null) {
+                if (initializing) {
+                    throw new IllegalStateException("Circular dependency while initializing \"" + getRegistryName() + "\"");
+                }
+
+                initializing = true;
+                try {
+                    initializeDependencies();
+                    instance = factory.get();
+                } finally {
+                    initializing = false;
+                }
+            }
+            return instance;
+        }
+    }
+
+
+    private void initializeDependencies() {
+        if (dependencies.length == 0) {
+            return;
+        }
+
+        IForgeRegistry<IApiInstance> registry = GameRegistry.findRegistry(IApiInstance.class);
+        for (ResourceLocation name : dependencies) {
+            IApiInstance dependency = registry == null ? null : registry.getValue(name);
+            if (dependency == null) {
+                throw new IllegalStateException("\"" + getRegistryName() + "\" depends on missing manager \"" + name + "\"");
+            }
+
+            if (dependency instanceof LazyApiInstance) {
+                ((LazyApiInstance<?>) dependency).get();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LazyApiInstance{" + getRegistryName() + (isInitialized() ? ", initialized}" : "}");
+    }
+}
@@ -1,5 +1,8 @@
 package jakojaannos.api.mod;
 
+import jakojaannos.api.world.AdvancedBiomeBase;
+import jakojaannos.api.world.BiomeTypeIndex;
+import jakojaannos.api.world.SurfaceConfig;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.biome.Biome;
 import net.minecraftforge.common.BiomeDictionary;
@@ -7,11 +10,18 @@ import net.minecraftforge.common.BiomeManager;
 import net.minecraftforge.event.RegistryEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.registries.IForgeRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 
 public abstract class BiomesBase extends ContentBase {
+    private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
+
     private final Map<String, Entry> biomes = new HashMap<>();
 
     public abstract void initBiomes();
@@ -23,7 +33,11 @@ public abstract class BiomesBase extends ContentBase {
 
     @SubscribeEvent
     public void onRegisterBiomes(RegistryEvent.Register<Biome> event) {
+        long start = System.nanoTime();
         biomes.forEach((s, entry) -> doRegisterBiome(event.getRegistry(), s, entry));
+        BiomeTypeIndex.invalidate();
+        reportSurfaceConfigs();
+        StartupTimings.record(getModId(), "biomes.register", System.nanoTime() - start, biomes.size());
     }
 
     private void doRegisterBiome(IForgeRegistry<Biome> registry, String key, Entry entry) {
@@ -32,6 +46,26 @@ public abstract class BiomesBase extends ContentBase {
 
         BiomeManager.addBiome(entry.type, new BiomeManager.BiomeEntry(entry.biome, entry.weight));
         BiomeDictionary.addTypes(entry.biome, entry.dictTypes);
+
+        if (entry.biome instanceof AdvancedBiomeBase) {
+            ((AdvancedBiomeBase) entry.biome).internSurfaceConfig();
+        }
+    }
+
+    private void reportSurfaceConfigs() {
+        int advancedBiomes = 0;
+        Set<SurfaceConfig> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entry entry : biomes.values()) {
+            if (entry.biome instanceof AdvancedBiomeBase) {
+                advancedBiomes++;
+                distinct.add(((AdvancedBiomeBase) entry.biome).getSurfaceConfig());
+            }
+        }
+
+        if (advancedBiomes > 0) {
+            LOGGER.info("\"{}\" registered {} advanced biomes with {} distinct surface configurations ({} in total)",
+                    getModId(), advancedBiomes, distinct.size(), SurfaceConfig.getInternedCount());
+        }
     }
 
 
@@ -98,7 +98,9 @@ public abstract class BlocksBase extends ContentBase {
 
     @SubscribeEvent
     public void onRegisterBlocks(RegistryEvent.Register<Block> event) {
+        long start = System.nanoTime();
         blocks.forEach((name, entry) -> doRegisterBlock(event.getRegistry(), name, entry));
+        StartupTimings.record(getModId(), "blocks.register", System.nanoTime() - start, blocks.size());
     }
 
     private void doRegisterBlock(IForgeRegistry<Block> registry, String name, BlockEntry entry) {
@@ -113,10 +115,18 @@ public abstract class BlocksBase extends ContentBase {
 
     @SubscribeEvent
     public void onRegisterItems(RegistryEvent.Register<Item> event) {
+        long start = System.nanoTime();
+
         // Register all available item blocks
-        blocks.entrySet().stream()
-                .filter(entry -> entry.getValue().hasItemBlock())
-                .forEach(entry -> doRegisterItem(event.getRegistry(), entry.getValue()));
+        int count = 0;
+        for (BlockEntry entry : blocks.values()) {
+            if (entry.hasItemBlock()) {
+                doRegisterItem(event.getRegistry(), entry);
+                count++;
+            }
+        }
+
+        StartupTimings.record(getModId(), "blocks.registerItems", System.nanoTime() - start, count);
     }
 
     private void doRegisterItem(IForgeRegistry<Item> registry, BlockEntry entry) {
@@ -135,9 +145,17 @@ public abstract class BlocksBase extends ContentBase {
     @SideOnly(Side.CLIENT)
     @SubscribeEvent
     public void onRegisterModels(ModelRegistryEvent event) {
-        blocks.values().stream()
-                .filter(BlockEntry::hasItemBlock)
-                .forEach(this::registerItemBlockModel);
+        long start = System.nanoTime();
+
+        int count = 0;
+        for (BlockEntry entry : blocks.values()) {
+            if (entry.hasItemBlock()) {
+                registerItemBlockModel(entry);
+                count++;
+            }
+        }
+
+        StartupTimings.record(getModId(), "blocks.registerModels", System.nanoTime() - start, count);
     }
 
     @SideOnly(Side.CLIENT)
@@ -1,5 +1,6 @@
 package jakojaannos.api.mod;
 
+import jakojaannos.api.command.CommandTree;
 import net.minecraft.command.ICommand;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 
@@ -13,6 +14,19 @@ public abstract class CommandsBase {
         event.registerServerCommand(command);
     }
 
+    /**
+     * Registers a new empty {@link CommandTree}. Subcommands can be added to the returned tree after registration.
+     *
+     * @param name            Name of the root command
+     * @param usage           Usage string or translation key
+     * @param permissionLevel Permission level required for using the root command
+     */
+    protected CommandTree registerTree(String name, String usage, int permissionLevel) {
+        CommandTree tree = new CommandTree(name, usage, permissionLevel);
+        register(tree);
+        return tree;
+    }
+
     void doInitCommands(FMLServerStartingEvent event) {
         this.event = event;
         initCommands();
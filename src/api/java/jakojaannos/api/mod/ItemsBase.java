@@ -1,5 +1,262 @@
 package jakojaannos.api.mod;
 
+import com.google.common.base.Preconditions;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.renderer.block.model.ItemOverrideList;
+import net.minecraft.client.renderer.block.model.ModelBakery;
+import net.minecraft.client.renderer.block.model.ModelResourceLocation;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import net.minecraftforge.client.event.ModelBakeEvent;
+import net.minecraftforge.client.event.ModelRegistryEvent;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.ModelLoader;
+import net.minecraftforge.event.RegistryEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+
+/**
+ * Provides helpers for item registration.
+ * <p>
+ * Items registered via methods provided are automatically added to forge registry, without need to worry about
+ * {@link RegistryEvent RegistryEvents}. Items can be given as instances or as suppliers, in which case they are only
+ * constructed when the registry event fires. All items are inserted to the registry in a single batch.
+ * <p>
+ * Items with lots of meta variants can be registered via {@link #registerVariants}, which binds all variants to a
+ * single model instead of one model location per variant. The model can pick the actual variant model through
+ * overrides using the {@link #META_PROPERTY} predicate, which equals the item metadata:
+ * <pre><c>   "overrides": [
+ *     { "predicate": { "jakojaannos-lib:meta": 1 }, "model": "modid:item/variant_1" },
+ *     { "predicate": { "jakojaannos-lib:meta": 2 }, "model": "modid:item/variant_2" }
+ * ]</c></pre>
+ * Overrides are resolved like vanilla resolves them: a predicate matches when the property is <i>at least</i> the given
+ * value and the last matching override wins, so overrides must be listed in ascending meta order. Each variant still
+ * needs its own model and override entry.
+ * <p>
+ * Vanilla scans through all overrides every time a stack is rendered. For items registered via
+ * {@link #registerVariants} the resolved model is instead cached per meta, so the scan only happens the first time
+ * each meta is rendered. Because of this, the overrides of such items must not use predicates other than
+ * {@link #META_PROPERTY}.
+ */
 public abstract class ItemsBase extends ContentBase {
+    /**
+     * Model override predicate which equals the metadata of the stack. Available on items registered via
+     * {@link #registerVariants}.
+     */
+    public static final ResourceLocation META_PROPERTY = new ResourceLocation("jakojaannos-lib", "meta");
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Registration
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Register items here using {@link #register} -method overrides
+     */
     public abstract void initItems();
+
+
+    /**
+     * Queues the item for registration
+     *
+     * @param name Registry name
+     * @param item Item to register
+     */
+    protected final void register(String name, Item item) {
+        register(name, () -> item);
+    }
+
+    /**
+     * Queues the item for registration. Item is constructed when items are being registered.
+     *
+     * @param name     Registry name
+     * @param supplier Supplier constructing the item
+     */
+    protected final void register(String name, Supplier<? extends Item> supplier) {
+        queue(name, new ItemEntry(supplier, false));
+    }
+
+    /**
+     * Queues the item with meta variants for registration. All variants share a single model.
+     *
+     * @param name Registry name
+     * @param item Item to register
+     */
+    protected final void registerVariants(String name, Item item) {
+        registerVariants(name, () -> item);
+    }
+
+    /**
+     * Queues the item with meta variants for registration. All variants share a single model. Item is constructed
+     * when items are being registered.
+     *
+     * @param name     Registry name
+     * @param supplier Supplier constructing the item
+     */
+    protected final void registerVariants(String name, Supplier<? extends Item> supplier) {
+        queue(name, new ItemEntry(supplier, true));
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final Map<String, ItemEntry> items = new LinkedHashMap<>();
+
+    private void queue(String name, ItemEntry entry) {
+        Preconditions.checkState(!items.containsKey(name), "Item \"%s\" is already registered!", name);
+        items.put(name, entry);
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Registry events
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @SubscribeEvent
+    public void onRegisterItems(RegistryEvent.Register<Item> event) {
+        long start = System.nanoTime();
+
+        Item[] batch = new Item[items.size()];
+        int i = 0;
+        for (Map.Entry<String, ItemEntry> entry : items.entrySet()) {
+            batch[i++] = entry.getValue().construct(getModId(), entry.getKey());
+        }
+        event.getRegistry().registerAll(batch);
+
+        StartupTimings.record(getModId(), "items.register", System.nanoTime() - start, batch.length);
+    }
+
+
+    @SideOnly(Side.CLIENT)
+    @SubscribeEvent
+    public void onRegisterModels(ModelRegistryEvent event) {
+        long start = System.nanoTime();
+
+        for (ItemEntry entry : items.values()) {
+            registerItemModel(entry);
+        }
+
+        StartupTimings.record(getModId(), "items.registerModels", System.nanoTime() - start, items.size());
+    }
+
+    @SideOnly(Side.CLIENT)
+    private void registerItemModel(ItemEntry entry) {
+        Preconditions.checkNotNull(entry.item, "Item not constructed!");
+        Preconditions.checkNotNull(entry.item.getRegistryName());
+
+        ModelResourceLocation location = new ModelResourceLocation(entry.item.getRegistryName(), "inventory");
+        if (entry.hasVariants) {
+            // Single location and mesh definition for all metas, variants are resolved by the model overrides
+            entry.item.addPropertyOverride(META_PROPERTY, (stack, world, entity) -> stack.getMetadata());
+            ModelBakery.registerItemVariants(entry.item, location);
+            ModelLoader.setCustomMeshDefinition(entry.item, stack -> location);
+        } else {
+            ModelLoader.setCustomModelResourceLocation(entry.item, 0, location);
+        }
+    }
+
+    @SideOnly(Side.CLIENT)
+    @SubscribeEvent
+    public void onModelBake(ModelBakeEvent event) {
+        for (ItemEntry entry : items.values()) {
+            if (!entry.hasVariants || entry.item == null || entry.item.getRegistryName() == null) {
+                continue;
+            }
+
+            ModelResourceLocation location = new ModelResourceLocation(entry.item.getRegistryName(), "inventory");
+            IBakedModel model = event.getModelRegistry().getObject(location);
+            if (model != null) {
+                event.getModelRegistry().putObject(location, new MetaIndexedModel(model));
+            }
+        }
+    }
+
+
+    /**
+     * Replaces the overrides of a model with {@link MetaOverrideList}
+     */
+    @SideOnly(Side.CLIENT)
+    private static final class MetaIndexedModel extends BakedModelWrapper<IBakedModel> {
+        private final ItemOverrideList overrides;
+
+        MetaIndexedModel(IBakedModel originalModel) {
+            super(originalModel);
+            this.overrides = new MetaOverrideList(originalModel.getOverrides());
+        }
+
+        @Override
+        public ItemOverrideList getOverrides() {
+            return overrides;
+        }
+    }
+
+    /**
+     * Resolves overrides through the original list once per meta and caches the result in an array indexed by meta.
+     * Models are only rendered from the client thread, so the cache needs no synchronization.
+     */
+    @SideOnly(Side.CLIENT)
+    private static final class MetaOverrideList extends ItemOverrideList {
+        private static final int MAX_CACHED_META = Short.MAX_VALUE;
+
+        private final ItemOverrideList original;
+        private IBakedModel[] models = new IBakedModel[16];
+
+        MetaOverrideList(ItemOverrideList original) {
+            super(Collections.emptyList());
+            this.original = original;
+        }
+
+        @Override
+        public IBakedModel handleItemState(IBakedModel originalModel, ItemStack stack, @Nullable World world, @Nullable EntityLivingBase entity) {
+            int meta = stack.getMetadata();
+            if (meta < 0 || meta > MAX_CACHED_META) {
+                return original.handleItemState(originalModel, stack, world, entity);
+            }
+
+            if (meta >= models.length) {
+                models = Arrays.copyOf(models, Math.min(Math.max(meta + 1, models.length * 2), MAX_CACHED_META + 1));
+            }
+
+            IBakedModel model = models[meta];
+            if (model == null) {
+                model = original.handleItemState(originalModel, stack, world, entity);
+                models[meta] = model;
+            }
+            return model;
+        }
+    }
+
+
+    private class ItemEntry {
+        final Supplier<? extends Item> supplier;
+        final boolean hasVariants;
+        @Nullable Item item;
+
+        ItemEntry(Supplier<? extends Item> supplier, boolean hasVariants) {
+            this.supplier = supplier;
+            this.hasVariants = hasVariants;
+        }
+
+        Item construct(String modId, String name) {
+            if (item == null) {
+                item = Preconditions.checkNotNull(supplier.get(), "Supplier for item \"%s\" returned null!", name);
+                item.setUnlocalizedName(name);
+                item.setRegistryName(new ResourceLocation(modId, name));
+            }
+            return item;
+        }
+    }
 }
@@ -1,12 +1,84 @@
 package jakojaannos.api.mod;
 
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.storage.loot.LootTable;
 import net.minecraft.world.storage.loot.LootTableList;
+import net.minecraft.world.storage.loot.LootTableManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provides helpers for loot table registration.
+ * <p>
+ * Tables registered via {@link #register} are preloaded and validated when server is starting, so that typos and
+ * broken tables are reported right away instead of on the first kill/chest open.
+ */
 public abstract class LootTablesBase {
+    private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Registration
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
     protected static ResourceLocation register(String modid, String name) {
         ResourceLocation resourceLocation = new ResourceLocation(modid, name);
         LootTableList.register(resourceLocation);
+        TABLES.add(resourceLocation);
         return resourceLocation;
     }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    // All tracked tables, regardless of namespace. Tables of all lib-based mods are preloaded together by whichever mod
+    // receives the server starting event first.
+    private static final List<ResourceLocation> TABLES = new ArrayList<>();
+    private static final Set<LootTableManager> PRELOADED = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /**
+     * INTERNAL USE, DO NOT CALL
+     * <p>
+     * Loads all tracked tables into given manager's cache, so they are warm by the time they are first queried. Tables
+     * which fail to load are reported in a single batch. Does nothing if the tables were already preloaded for the
+     * manager.
+     * <p>
+     * Must be called on the server thread. Loading posts {@link net.minecraftforge.event.LootTableLoadEvent} for
+     * resource pack tables and its listeners are not required to be thread-safe, so tables are loaded one at a time.
+     */
+    static void preloadTables(LootTableManager manager) {
+        if (TABLES.isEmpty() || !PRELOADED.add(manager)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<String> failed = new ArrayList<>();
+        for (ResourceLocation table : TABLES) {
+            try {
+                // Manager logs the actual parse errors and falls back to the empty table
+                if (manager.getLootTableFromLocation(table) == LootTable.EMPTY_LOOT_TABLE) {
+                    failed.add(table.toString());
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Loading loot table \"{}\" threw an exception", table, e);
+                failed.add(table.toString());
+            }
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (failed.isEmpty()) {
+            LOGGER.info("Preloaded {} loot tables in {} ms", TABLES.size(), elapsed);
+        } else {
+            LOGGER.error("{} of {} loot tables failed to load or are missing: {}",
+                    failed.size(), TABLES.size(), String.join(", ", failed));
+        }
+    }
 }
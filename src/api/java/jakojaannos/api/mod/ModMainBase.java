@@ -38,7 +38,8 @@ public abstract class ModMainBase<
         TItems extends ItemsBase,
         TBiomes extends BiomesBase,
         TCommands extends CommandsBase,
-        TLoot extends LootTablesBase> {
+        TLoot extends LootTablesBase,
+        TNetwork extends NetworkBase> {
 
     private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
 
@@ -50,23 +51,31 @@ public abstract class ModMainBase<
         if (commands != null) {
             commands.doInitCommands(event);
         }
+
+        // Warm up loot tables before the server starts accepting players
+        LootTablesBase.preloadTables(event.getServer().getWorld(0).getLootTableManager());
     }
 
     public void onInit(FMLPreInitializationEvent event) {
         // Register content instances and initialize content
         if (blocks != null) {
             MinecraftForge.EVENT_BUS.register(blocks);
-            blocks.initBlocks();
+            timed("blocks.init", blocks::initBlocks);
         }
 
         if (items != null) {
             MinecraftForge.EVENT_BUS.register(items);
-            items.initItems();
+            timed("items.init", items::initItems);
         }
 
         if (biomes != null) {
             MinecraftForge.EVENT_BUS.register(biomes);
-            biomes.initBiomes();
+            timed("biomes.init", biomes::initBiomes);
+        }
+
+        if (network != null) {
+            MinecraftForge.EVENT_BUS.register(network);
+            timed("network.init", network::doInitNetwork);
         }
     }
 
@@ -75,6 +84,17 @@ public abstract class ModMainBase<
     public abstract void onInit(FMLPostInitializationEvent event);
 
 
+    /**
+     * Runs the action and records its duration to {@link StartupTimings} under given phase name. Use for timing the
+     * heavier parts of {@link #onInit(FMLInitializationEvent)} and {@link #onInit(FMLPostInitializationEvent)}.
+     */
+    protected final void timed(String phase, Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        StartupTimings.record(findModId(), phase, System.nanoTime() - start, 0);
+    }
+
+
 ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 // Private Implementation (you might not want to mess with this monstrous spaghetti code)
 ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -84,13 +104,19 @@ public abstract class ModMainBase<
     private final TBiomes biomes;
     private final TCommands commands;
     private final TLoot loot;
+    private final TNetwork network;
 
     protected ModMainBase() {
+        long start = System.nanoTime();
         blocks = createContentInstance(getBlocksClass());
         items = createContentInstance(getItemsClass());
         biomes = createContentInstance(getBiomesClass());
         commands = createContentInstance(getCommandsClass());
         loot = createContentInstance(getLootTablesClass());
+        network = createContentInstance(getNetworkClass());
+
+        int created = countNonNull(blocks, items, biomes, commands, loot, network);
+        StartupTimings.record(findModId(), "construct", System.nanoTime() - start, created);
     }
 
 
@@ -132,6 +158,16 @@ public abstract class ModMainBase<
         return instance;
     }
 
+    private static int countNonNull(Object... objects) {
+        int count = 0;
+        for (Object object : objects) {
+            if (object != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     private String findModId() {
         Mod modMetadata = getClass().getAnnotation(Mod.class);
         return modMetadata.modid();
@@ -143,6 +179,7 @@ public abstract class ModMainBase<
     private static final int BIOMES_INDEX = 2;
     private static final int COMMANDS_INDEX = 3;
     private static final int LOOT_INDEX = 4;
+    private static final int NETWORK_INDEX = 5;
 
     private Class<TBlocks> getBlocksClass() {
         // noinspection unchecked (Shh, just let it happen)
@@ -169,6 +206,11 @@ public abstract class ModMainBase<
         return (Class<TLoot>) getActualTypeArguments()[LOOT_INDEX];
     }
 
+    private Class<TNetwork> getNetworkClass() {
+        // noinspection unchecked (Shh, just let it happen)
+        return (Class<TNetwork>) getActualTypeArguments()[NETWORK_INDEX];
+    }
+
     private Type[] getActualTypeArguments() {
         // Umm... yeah. It might be better you just don't even ask.
         // ...but if you did, all this line does is basically just getting an array of types specified in generic type
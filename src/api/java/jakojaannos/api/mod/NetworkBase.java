@@ -0,0 +1,436 @@
+package jakojaannos.api.mod;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.NetworkRegistry;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import net.minecraftforge.fml.relauncher.Side;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Provides helpers for networking.
+ * <p>
+ * Messages are regular {@link IMessage IMessages}, but instead of sending each one as a separate packet, messages sent
+ * during a tick are coalesced per receiver and sent as a single frame at the end of the tick. Frames are encoded to
+ * pooled buffers and frames larger than {@link #getCompressionThreshold()} are compressed. Channel is created
+ * automatically, named after the mod id.
+ * <p>
+ * Frames are capped to what the receiving side accepts: {@link #MAX_SERVERBOUND_FRAME_SIZE} bytes towards the server
+ * (vanilla limits client custom payloads to 32767 bytes) and {@link #MAX_CLIENTBOUND_FRAME_SIZE} bytes towards clients.
+ * When a message would not fit, the pending frame is sent right away and a new one is started. A single message larger
+ * than the cap is rejected with an {@link IllegalArgumentException} when sent.
+ * <p>
+ * Messages must be registered in the same order on both sides. Sending should happen from the main thread of the
+ * sending side, handlers are called from the network thread just like with plain {@link SimpleNetworkWrapper}.
+ */
+public abstract class NetworkBase extends ContentBase {
+    private static final int MAX_CHANNEL_NAME_LENGTH = 20;
+    private static final int FLAG_COMPRESSED = 1;
+
+    /**
+     * Maximum uncompressed size of a frame sent to clients, receiving clients reject anything larger
+     */
+    public static final int MAX_CLIENTBOUND_FRAME_SIZE = 2 * 1024 * 1024;
+
+    /**
+     * Maximum uncompressed size of a frame sent to the server. Payloads are limited to 32767 bytes, which includes the
+     * channel discriminator, frame flags and, as deflate can slightly grow incompressible data, compression overhead.
+     */
+    public static final int MAX_SERVERBOUND_FRAME_SIZE = 32767 - 256;
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Registration
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Register messages here using {@link #register}
+     */
+    public abstract void initMessages();
+
+
+    /**
+     * Registers a message type
+     *
+     * @param type          Message class, must have a parameterless constructor
+     * @param handler       Handler for received messages. Returned message, if any, is sent back as a reply.
+     * @param receivingSide Side that receives the message
+     */
+    protected final <M extends IMessage> void register(Class<M> type, IMessageHandler<? super M, ? extends IMessage> handler, Side receivingSide) {
+        Preconditions.checkState(!messageIds.containsKey(type), "Message type %s is already registered!", type.getName());
+
+        messageIds.put(type, messageTypes.size());
+        messageTypes.add(new MessageType<>(type, handler, receivingSide));
+    }
+
+    /**
+     * Frames with at least this many bytes of payload are compressed. Negative value disables compression.
+     */
+    protected int getCompressionThreshold() {
+        return 1024;
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Sending
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Queues the message to be sent to given player at the end of the tick
+     */
+    public void sendTo(IMessage message, EntityPlayerMP player) {
+        pendingToClients.put(player, append(pendingToClients.get(player), message, player));
+    }
+
+    /**
+     * Queues the message to be sent to all players at the end of the tick
+     */
+    public void sendToAll(IMessage message) {
+        for (EntityPlayerMP player : FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList().getPlayers()) {
+            sendTo(message, player);
+        }
+    }
+
+    /**
+     * Queues the message to be sent to the server at the end of the tick
+     */
+    public void sendToServer(IMessage message) {
+        pendingToServer = append(pendingToServer, message, null);
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+    private final List<MessageType<?>> messageTypes = new ArrayList<>();
+    private final Map<Class<? extends IMessage>, Integer> messageIds = new HashMap<>();
+
+    private final Map<EntityPlayerMP, ByteBuf> pendingToClients = new IdentityHashMap<>();
+    private ByteBuf pendingToServer;
+
+    private final Deflater deflater = new Deflater();
+    private final byte[] deflateBuffer = new byte[8192];
+    private byte[] deflateInput = new byte[0];
+
+    private SimpleNetworkWrapper channel;
+
+    /**
+     * INTERNAL USE, DO NOT CALL
+     */
+    void doInitNetwork() {
+        String name = getModId();
+        channel = NetworkRegistry.INSTANCE.newSimpleChannel(name.length() > MAX_CHANNEL_NAME_LENGTH
+                ? name.substring(0, MAX_CHANNEL_NAME_LENGTH)
+                : name);
+
+        // Frames travel both ways using the same discriminator
+        FrameHandler frameHandler = new FrameHandler();
+        channel.registerMessage(frameHandler, FrameMessage.class, 0, Side.CLIENT);
+        channel.registerMessage(frameHandler, FrameMessage.class, 0, Side.SERVER);
+
+        initMessages();
+    }
+
+    private ByteBuf newFrame() {
+        ByteBuf frame = ALLOCATOR.buffer();
+        frame.writeByte(0); // Flags
+        return frame;
+    }
+
+    /**
+     * Appends the message to the frame, creating the frame if necessary. If the message does not fit, the frame is sent
+     * right away and the message is moved to a new frame.
+     *
+     * @param receiver Receiving player, null if sending to the server
+     * @return the frame subsequent messages should be appended to
+     */
+    private ByteBuf append(@Nullable ByteBuf frame, IMessage message, @Nullable EntityPlayerMP receiver) {
+        ByteBuf target = frame != null ? frame : newFrame();
+        int start = target.writerIndex();
+        try {
+            writeMessage(target, message);
+        } catch (RuntimeException e) {
+            target.writerIndex(start);
+            if (frame == null) {
+                target.release();
+            }
+            throw e;
+        }
+
+        int maxFrameSize = receiver == null ? MAX_SERVERBOUND_FRAME_SIZE : MAX_CLIENTBOUND_FRAME_SIZE;
+        if (target.readableBytes() - 1 <= maxFrameSize) {
+            return target;
+        }
+
+        int messageSize = target.writerIndex() - start;
+        if (messageSize > maxFrameSize) {
+            target.writerIndex(start);
+            if (frame == null) {
+                target.release();
+            }
+            throw new IllegalArgumentException("Message " + message.getClass().getName() + " is " + messageSize
+                    + " bytes, frames are limited to " + maxFrameSize + " bytes");
+        }
+
+        // Frame is full, move the message to a new frame and send the rest as-is
+        ByteBuf next = newFrame();
+        next.writeBytes(target, start, messageSize);
+        target.writerIndex(start);
+        sendFrame(target, receiver);
+        return next;
+    }
+
+    private void writeMessage(ByteBuf frame, IMessage message) {
+        Integer id = messageIds.get(message.getClass());
+        Preconditions.checkArgument(id != null, "Message type %s is not registered!", message.getClass().getName());
+
+        ByteBufUtils.writeVarInt(frame, id, 5);
+
+        // Reserve space for length and fill it in afterwards
+        int lengthIndex = frame.writerIndex();
+        frame.writeInt(0);
+        message.toBytes(frame);
+        frame.setInt(lengthIndex, frame.writerIndex() - lengthIndex - 4);
+    }
+
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || pendingToClients.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<EntityPlayerMP, ByteBuf> entry : pendingToClients.entrySet()) {
+            sendFrame(entry.getValue(), entry.getKey());
+        }
+        pendingToClients.clear();
+    }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || pendingToServer == null) {
+            return;
+        }
+
+        ByteBuf frame = pendingToServer;
+        pendingToServer = null;
+        sendFrame(frame, null);
+    }
+
+    private void sendReply(IMessage reply, MessageContext ctx) {
+        // Replies are sent right away from the network thread, so they cannot be coalesced with the pending frames
+        EntityPlayerMP receiver = ctx.side == Side.SERVER ? ctx.getServerHandler().player : null;
+        sendFrame(append(null, reply, receiver), receiver);
+    }
+
+    /**
+     * Compresses the frame if necessary and sends it. Releases the frame.
+     *
+     * @param receiver Receiving player, null if sending to the server
+     */
+    private void sendFrame(ByteBuf frame, @Nullable EntityPlayerMP receiver) {
+        frame = finishFrame(frame);
+        try {
+            if (receiver == null || !receiver.hasDisconnected()) {
+                transmit(new FrameMessage(frame), receiver);
+            }
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * INTERNAL USE, DO NOT CALL
+     * <p>
+     * Hands a finished frame to the channel. Package-private so that tests can loop frames back without a connection.
+     */
+    void transmit(FrameMessage message, @Nullable EntityPlayerMP receiver) {
+        if (receiver != null) {
+            channel.sendTo(message, receiver);
+        } else {
+            channel.sendToServer(message);
+        }
+    }
+
+    /**
+     * INTERNAL USE, DO NOT CALL
+     * <p>
+     * Handles a received frame. Releases the frame payload.
+     */
+    void receive(FrameMessage message, MessageContext ctx) {
+        try {
+            handleFrame(message.payload, ctx);
+        } finally {
+            message.payload.release();
+        }
+    }
+
+
+    private ByteBuf finishFrame(ByteBuf frame) {
+        int threshold = getCompressionThreshold();
+        int length = frame.readableBytes() - 1;
+        return threshold >= 0 && length >= threshold ? compress(frame, length) : frame;
+    }
+
+    // Integrated server and client both send from their own threads, share the deflater safely
+    private synchronized ByteBuf compress(ByteBuf frame, int length) {
+        if (deflateInput.length < length) {
+            deflateInput = new byte[length];
+        }
+        frame.getBytes(frame.readerIndex() + 1, deflateInput, 0, length);
+        frame.release();
+
+        deflater.reset();
+        deflater.setInput(deflateInput, 0, length);
+        deflater.finish();
+
+        ByteBuf compressed = ALLOCATOR.buffer(length / 2 + 16);
+        compressed.writeByte(FLAG_COMPRESSED);
+        ByteBufUtils.writeVarInt(compressed, length, 5);
+        while (!deflater.finished()) {
+            int n = deflater.deflate(deflateBuffer);
+            compressed.writeBytes(deflateBuffer, 0, n);
+        }
+        return compressed;
+    }
+
+    /**
+     * @param maxLength Frame size cap of the receiving side, frames inflating past it are rejected before allocating
+     */
+    private static ByteBuf decompress(ByteBuf payload, int maxLength) {
+        int length = ByteBufUtils.readVarInt(payload, 5);
+        if (length < 0 || length > maxLength) {
+            throw new DecoderException("Invalid frame length " + length);
+        }
+
+        byte[] input = new byte[payload.readableBytes()];
+        payload.readBytes(input);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[length];
+            if (inflater.inflate(output) != length || !inflater.finished()) {
+                throw new DecoderException("Frame length mismatch");
+            }
+            return Unpooled.wrappedBuffer(output);
+        } catch (DataFormatException e) {
+            throw new DecoderException("Malformed compressed frame", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void handleFrame(ByteBuf payload, MessageContext ctx) {
+        int flags = payload.readUnsignedByte();
+        int maxFrameSize = ctx.side == Side.SERVER ? MAX_SERVERBOUND_FRAME_SIZE : MAX_CLIENTBOUND_FRAME_SIZE;
+        ByteBuf body = (flags & FLAG_COMPRESSED) != 0 ? decompress(payload, maxFrameSize) : payload;
+
+        while (body.isReadable()) {
+            int id = ByteBufUtils.readVarInt(body, 5);
+            int length = body.readInt();
+            if (id < 0 || id >= messageTypes.size()) {
+                throw new DecoderException("Unknown message id " + id);
+            }
+
+            IMessage reply = messageTypes.get(id).handle(body.readSlice(length), ctx);
+            if (reply != null) {
+                sendReply(reply, ctx);
+            }
+        }
+    }
+
+
+    /**
+     * INTERNAL USE, carries a single frame of coalesced messages. Public only because the network wrapper needs to be
+     * able to instantiate it.
+     */
+    public static final class FrameMessage implements IMessage {
+        private ByteBuf payload;
+
+        public FrameMessage() {
+        }
+
+        FrameMessage(ByteBuf payload) {
+            this.payload = payload;
+        }
+
+        @Override
+        public void fromBytes(ByteBuf buf) {
+            payload = buf.readRetainedSlice(buf.readableBytes());
+        }
+
+        @Override
+        public void toBytes(ByteBuf buf) {
+            buf.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+        }
+    }
+
+    private class FrameHandler implements IMessageHandler<FrameMessage, IMessage> {
+        @Nullable
+        @Override
+        public IMessage onMessage(FrameMessage message, MessageContext ctx) {
+            receive(message, ctx);
+            return null;
+        }
+    }
+
+    private static class MessageType<M extends IMessage> {
+        final Constructor<M> constructor;
+        final IMessageHandler<? super M, ? extends IMessage> handler;
+        final Side receivingSide;
+
+        MessageType(Class<M> type, IMessageHandler<? super M, ? extends IMessage> handler, Side receivingSide) {
+            try {
+                this.constructor = type.getDeclaredConstructor();
+                this.constructor.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Message class should define a parameterless constructor", e);
+            }
+            this.handler = handler;
+            this.receivingSide = receivingSide;
+        }
+
+        @Nullable
+        IMessage handle(ByteBuf data, MessageContext ctx) {
+            if (ctx.side != receivingSide) {
+                throw new DecoderException("Message " + constructor.getDeclaringClass().getName() + " received on wrong side");
+            }
+
+            M message;
+            try {
+                message = constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new DecoderException("Could not instantiate message", e);
+            }
+
+            message.fromBytes(data);
+            return handler.onMessage(message, ctx);
+        }
+    }
+}
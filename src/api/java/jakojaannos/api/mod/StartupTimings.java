@@ -0,0 +1,98 @@
+package jakojaannos.api.mod;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects per-mod, per-phase startup timings of {@link ModMainBase}-based mods. Content creation, content init and
+ * registry event handlers of the content classes are recorded automatically, subclasses can time their own phases
+ * using {@link ModMainBase#timed(String, Runnable)}.
+ */
+public final class StartupTimings {
+    private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>();
+
+    private StartupTimings() {
+    }
+
+    /**
+     * Logs the summary table sorted from slowest to fastest and writes the timings to given file as JSON
+     */
+    public static synchronized void report(File jsonFile) {
+        List<Entry> sorted = new ArrayList<>(ENTRIES.values());
+        sorted.sort(Comparator.comparingLong((Entry entry) -> entry.nanos).reversed());
+
+        StringBuilder table = new StringBuilder("Startup timings of lib-based mods:\n");
+        table.append(String.format("%-32s %-24s %12s %8s%n", "Mod", "Phase", "Time (ms)", "Count"));
+        for (Entry entry : sorted) {
+            table.append(String.format("%-32s %-24s %12.3f %8d%n", entry.modId, entry.phase, entry.nanos / 1.0e6, entry.count));
+        }
+        LOGGER.info(table.toString());
+
+        JsonArray json = new JsonArray();
+        for (Entry entry : sorted) {
+            JsonObject object = new JsonObject();
+            object.addProperty("mod", entry.modId);
+            object.addProperty("phase", entry.phase);
+            object.addProperty("nanos", entry.nanos);
+            object.addProperty("count", entry.count);
+            json.add(object);
+        }
+
+        try {
+            Files.createDirectories(jsonFile.getAbsoluteFile().getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(jsonFile.toPath(), StandardCharsets.UTF_8)) {
+                GSON.toJson(json, writer);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not write startup timings to \"{}\"", jsonFile, e);
+        }
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * INTERNAL USE, DO NOT CALL
+     * <p>
+     * Records a timing. Repeated records for the same mod and phase are summed.
+     *
+     * @param count number of things registered/created during the phase
+     */
+    static synchronized void record(String modId, String phase, long nanos, int count) {
+        Entry entry = ENTRIES.computeIfAbsent(modId + '/' + phase, key -> new Entry(modId, phase));
+        entry.nanos += nanos;
+        entry.count += count;
+    }
+
+    private static class Entry {
+        final String modId;
+        final String phase;
+        long nanos;
+        int count;
+
+        Entry(String modId, String phase) {
+            this.modId = modId;
+            this.phase = phase;
+        }
+    }
+}
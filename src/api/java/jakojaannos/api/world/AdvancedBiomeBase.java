@@ -17,16 +17,7 @@ public abstract class AdvancedBiomeBase extends Biome {
     private static final IBlockState[] LOOKUP = new IBlockState[256];
 
     private int seaLevelOverride;
-    private int bedrockDepth;
-
-    private float seaLevelFuzzScale;
-    private float seaLevelFuzzOffset;
-
-    private IBlockState oceanBlock;
-    private IBlockState stoneBlock;
-
-    private BlockLayer[] underwaterLayers;
-    private BlockLayer[] layers;
+    private SurfaceConfig surface;
 
 
     /**
@@ -48,14 +39,14 @@ public abstract class AdvancedBiomeBase extends Biome {
      * Gets the block used as water substitute for blocks below sea level
      */
     public IBlockState getOceanBlock() {
-        return oceanBlock;
+        return surface.getOceanBlock();
     }
 
     /**
      * Sets the block used as water substitute for blocks below sea level
      */
     public AdvancedBiomeBase setOceanBlock(IBlockState oceanBlock) {
-        this.oceanBlock = oceanBlock;
+        this.surface = surface.withOceanBlock(oceanBlock);
         return this;
     }
 
@@ -63,14 +54,14 @@ public abstract class AdvancedBiomeBase extends Biome {
      * Gets the number of bedrock layers generated
      */
     public int getBedrockDepth() {
-        return bedrockDepth;
+        return surface.getBedrockDepth();
     }
 
     /**
      * Sets the number of bedrock layers generated
      */
     public AdvancedBiomeBase setBedrockDepth(int bedrockDepth) {
-        this.bedrockDepth = bedrockDepth;
+        this.surface = surface.withBedrockDepth(bedrockDepth);
         return this;
     }
 
@@ -78,14 +69,14 @@ public abstract class AdvancedBiomeBase extends Biome {
      * Gets the block to use as stone substitute
      */
     public IBlockState getStoneBlock() {
-        return stoneBlock;
+        return surface.getStoneBlock();
     }
 
     /**
      * Sets the block to use as stone substitute
      */
     public AdvancedBiomeBase setStoneBlock(IBlockState stoneBlock) {
-        this.stoneBlock = stoneBlock;
+        this.surface = surface.withStoneBlock(stoneBlock);
         return this;
     }
 
@@ -94,22 +85,21 @@ public abstract class AdvancedBiomeBase extends Biome {
      * Gets the fuzz-scale when transitioning from overwater layers to underwater ones
      */
     public float getSeaLevelFuzzScale() {
-        return seaLevelFuzzScale;
+        return surface.getSeaLevelFuzzScale();
     }
 
     /**
      * Gets the fuzz-offset when transitioning from overwater layers to underwater ones
      */
     public float getSeaLevelFuzzOffset() {
-        return seaLevelFuzzOffset;
+        return surface.getSeaLevelFuzzOffset();
     }
 
     /**
      * Sets the underwater border fuzz properties
      */
     public void setSeaLevelFuzz(float scale, float offset) {
-        this.seaLevelFuzzScale = scale;
-        this.seaLevelFuzzOffset = offset;
+        this.surface = surface.withSeaLevelFuzz(scale, offset);
     }
 
 
@@ -121,26 +111,36 @@ public abstract class AdvancedBiomeBase extends Biome {
     }
 
     public AdvancedBiomeBase setLayers(BlockLayer[] layers, BlockLayer[] underwaterLayers) {
-        this.layers = layers;
-        this.underwaterLayers = underwaterLayers;
+        this.surface = surface.withLayers(layers, underwaterLayers);
         return this;
     }
 
+    /**
+     * Gets the surface configuration of this biome
+     */
+    public SurfaceConfig getSurfaceConfig() {
+        return surface;
+    }
+
+    /**
+     * Replaces the surface configuration with the shared instance, so that biomes with identical surfaces do not each
+     * hold their own copy. Called automatically for biomes registered via {@link jakojaannos.api.mod.BiomesBase}.
+     */
+    public void internSurfaceConfig() {
+        this.surface = surface.intern();
+    }
+
 
     protected AdvancedBiomeBase(BiomeProperties properties) {
         super(properties);
-        this.layers = new BlockLayer[0];
-        this.underwaterLayers = new BlockLayer[0];
-
-        this.oceanBlock = WATER;
-        this.stoneBlock = STONE;
-        this.bedrockDepth = 5;
+        this.surface = new SurfaceConfig(new BlockLayer[0], new BlockLayer[0], STONE, WATER, 5, 0.0f, 0.0f);
         this.seaLevelOverride = -1;
-
-        this.seaLevelFuzzOffset = 0.0f;
-        this.seaLevelFuzzScale = 0.0f;
     }
 
+    /**
+     * Replaces the blocks of a single column. This is called for every column of every generated chunk, so it (and
+     * {@link #generateLookup}) must stay allocation-free: no streams, no boxing, no temporary arrays or collections.
+     */
     @Override
     public void genTerrainBlocks(World world, Random rand, ChunkPrimer primer, int globalX, int globalZ, double noiseVal) {
         // HACK: Vanilla has x<->z swapped, so do we
@@ -163,7 +163,7 @@ public abstract class AdvancedBiomeBase extends Biome {
             // Keep replacing water blocks with air or water override block until we hit solid
             if (!hitSolid) {
                 if (state.getMaterial() == Material.WATER) {
-                    final IBlockState newState = y > seaLevel ? Blocks.AIR.getDefaultState() : oceanBlock;
+                    final IBlockState newState = y > seaLevel ? Blocks.AIR.getDefaultState() : surface.getOceanBlock();
                     primer.setBlockState(x, y, z, newState);
                 } else if (state.getMaterial() != Material.AIR) {
                     hitSolid = true;
@@ -183,7 +183,8 @@ public abstract class AdvancedBiomeBase extends Biome {
 
     /**
      * Generates lookup table for blockstates in a single column. DO NOT CREATE NEW ARRAY ON EACH CALL, use the array
-     * provided in "lookup" parameter as it is recycled.
+     * provided in "lookup" parameter as it is recycled. Same goes for any other allocations, this is called once per
+     * generated column.
      *
      * @param solidY        y-coordinate of the first solid layer
      * @param fuzzySeaLevel sea level with fuzz applied
@@ -193,6 +194,8 @@ public abstract class AdvancedBiomeBase extends Biome {
     protected void generateLookup(Random random, int solidY, int fuzzySeaLevel, int x, int z, double noiseVal, IBlockState[] lookup) {
         final boolean underwater = solidY <= fuzzySeaLevel;
         final BlockLayer[] layers = getLayers(underwater);
+        final IBlockState stoneBlock = surface.getStoneBlock();
+        final int bedrockDepth = surface.getBedrockDepth();
 
         int y = 0;
         for (BlockLayer layer : layers) {
@@ -226,6 +229,6 @@ public abstract class AdvancedBiomeBase extends Biome {
     }
 
     protected BlockLayer[] getLayers(boolean underwater) {
-        return underwater ? underwaterLayers : layers;
+        return underwater ? surface.getUnderwaterLayers() : surface.getLayers();
     }
 }
@@ -0,0 +1,161 @@
+package jakojaannos.api.world;
+
+import net.minecraft.world.biome.Biome;
+import net.minecraftforge.common.BiomeDictionary;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primitive index of {@link BiomeDictionary} types, mapping biome IDs to type bitmasks. Intended for hot loops (spawn
+ * and feature logic), where going through the dictionary's set lookups for every query adds up.
+ * <p>
+ * Resolve the mask once and keep it around, queries then boil down to a single array load and AND:
+ * <pre><c>   private static final long HOT_OR_DRY = BiomeTypeIndex.maskOf(Type.HOT, Type.DRY);
+ *
+ * if (BiomeTypeIndex.hasAnyType(biomeId, HOT_OR_DRY)) { ... }</c></pre>
+ * Index is rebuilt lazily on the next query after {@link #invalidate()} has been called. Biomes registered through
+ * {@link jakojaannos.api.mod.BiomesBase BiomesBase} invalidate the index automatically and it is rebuilt once more
+ * after post-init. Nothing else is tracked: types added by other mods after post-init (or through other means during
+ * loading, after the index has already been queried) are not picked up until {@link #invalidate()} is called.
+ * Biomes with no types at all are indexed with an empty mask, the index never triggers the dictionary's best-guess
+ * typing for them.
+ * <p>
+ * Bits are assigned to types in order they are first encountered and never change afterwards, so resolved masks stay
+ * valid across rebuilds. Only the first 64 types get a bit. {@link #hasType(Biome, BiomeDictionary.Type)} falls back
+ * to the dictionary for the rest.
+ */
+public final class BiomeTypeIndex {
+    private static final int MAX_BITS = Long.SIZE;
+    private static final Map<BiomeDictionary.Type, Integer> BITS = new IdentityHashMap<>();
+
+    // Bumped on every invalidation. Index is up to date when it was built from the current version.
+    private static final AtomicInteger VERSION = new AtomicInteger();
+
+    private static volatile long[] masks = new long[0];
+    private static volatile int builtVersion = -1;
+
+    private BiomeTypeIndex() {
+    }
+
+    /**
+     * Marks the index dirty, causing it to be rebuilt on next query
+     */
+    public static void invalidate() {
+        VERSION.incrementAndGet();
+    }
+
+    /**
+     * Gets the combined mask for given types
+     *
+     * @throws IllegalArgumentException if some of the types did not fit in the index
+     */
+    public static long maskOf(BiomeDictionary.Type... types) {
+        long mask = 0L;
+        for (BiomeDictionary.Type type : types) {
+            int bit = getBit(type);
+            if (bit < 0) {
+                throw new IllegalArgumentException("Type \"" + type + "\" does not fit in the index");
+            }
+            mask |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the type mask for biome with given ID. Unknown IDs have no types.
+     */
+    public static long getMask(int biomeId) {
+        long[] masks = getMasks();
+        return biomeId >= 0 && biomeId < masks.length ? masks[biomeId] : 0L;
+    }
+
+    /**
+     * Gets the type mask for given biome
+     */
+    public static long getMask(Biome biome) {
+        return getMask(Biome.getIdForBiome(biome));
+    }
+
+    /**
+     * Checks if the biome with given ID has at least one of the types in the mask
+     */
+    public static boolean hasAnyType(int biomeId, long mask) {
+        return (getMask(biomeId) & mask) != 0L;
+    }
+
+    /**
+     * Checks if the biome with given ID has all of the types in the mask
+     */
+    public static boolean hasAllTypes(int biomeId, long mask) {
+        return (getMask(biomeId) & mask) == mask;
+    }
+
+    /**
+     * Checks if the biome has given type. Prefer the mask-based queries in hot loops, this one has to resolve the
+     * type's bit on every call.
+     */
+    public static boolean hasType(Biome biome, BiomeDictionary.Type type) {
+        int bit = getBit(type);
+        if (bit < 0) {
+            return BiomeDictionary.hasType(biome, type);
+        }
+        return (getMask(biome) & (1L << bit)) != 0L;
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static long[] getMasks() {
+        if (builtVersion != VERSION.get()) {
+            rebuild();
+        }
+        return masks;
+    }
+
+    private static synchronized int getBit(BiomeDictionary.Type type) {
+        Integer bit = BITS.get(type);
+        if (bit == null) {
+            bit = BITS.size() < MAX_BITS ? BITS.size() : -1;
+            BITS.put(type, bit);
+        }
+        return bit;
+    }
+
+    private static synchronized void rebuild() {
+        // Captured before the scan, so that invalidations during the scan trigger another rebuild
+        int version = VERSION.get();
+        if (builtVersion == version) {
+            return;
+        }
+
+        int maxId = -1;
+        for (Biome biome : Biome.REGISTRY) {
+            maxId = Math.max(maxId, Biome.getIdForBiome(biome));
+        }
+
+        long[] newMasks = new long[maxId + 1];
+        for (Biome biome : Biome.REGISTRY) {
+            // getTypes() would permanently add guessed types to biomes without any, leave those to their owners
+            if (!BiomeDictionary.hasAnyType(biome)) {
+                continue;
+            }
+
+            long mask = 0L;
+            for (BiomeDictionary.Type type : BiomeDictionary.getTypes(biome)) {
+                int bit = getBit(type);
+                if (bit >= 0) {
+                    mask |= 1L << bit;
+                }
+            }
+            newMasks[Biome.getIdForBiome(biome)] = mask;
+        }
+
+        // Publish before the version, readers seeing an up-to-date version must also see the new masks
+        masks = newMasks;
+        builtVersion = version;
+    }
+}
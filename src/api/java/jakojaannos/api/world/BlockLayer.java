@@ -49,4 +49,22 @@ public class BlockLayer {
             this.block = Blocks.STONE.getDefaultState();
         }
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BlockLayer)) {
+            return false;
+        }
+
+        BlockLayer other = (BlockLayer) o;
+        return depth == other.depth && block == other.block;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * depth + block.hashCode();
+    }
 }
@@ -0,0 +1,174 @@
+package jakojaannos.api.world;
+
+import net.minecraft.world.WorldType;
+import net.minecraft.world.gen.ChunkGeneratorSettings;
+import net.minecraft.world.gen.layer.GenLayer;
+import net.minecraft.world.gen.layer.GenLayerBiome;
+import net.minecraftforge.common.BiomeManager;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Drop-in replacement for {@link GenLayerBiome} which picks weighted biomes in constant time. Weighted biome lists of
+ * each {@link BiomeManager.BiomeType} are compiled into alias tables when the layer is constructed, instead of scanning
+ * through the list for every sample. Resulting distribution is identical to vanilla, including the coarser selection
+ * vanilla uses for unmodded biome lists.
+ * <p>
+ * Note that samples are not identical to vanilla for the same seed, as the alias method consumes two random numbers
+ * per sample. Layer can be taken into use in a custom {@link WorldType}:
+ * <pre><c>   public GenLayer getBiomeLayer(long worldSeed, GenLayer parentLayer, ChunkGeneratorSettings settings) {
+ *     GenLayer layer = new GenLayerAliasBiome(200L, parentLayer, this, settings);
+ *     layer = GenLayerZoom.magnify(1000L, layer, 2);
+ *     return new GenLayerBiomeEdge(1000L, layer);
+ * }</c></pre>
+ */
+public class GenLayerAliasBiome extends GenLayerBiome {
+    private final AliasTable[] tables;
+
+    public GenLayerAliasBiome(long seed, GenLayer parent, WorldType worldType, @Nullable ChunkGeneratorSettings settings) {
+        super(seed, parent, worldType, settings);
+
+        BiomeManager.BiomeType[] types = BiomeManager.BiomeType.values();
+        this.tables = new AliasTable[types.length];
+        for (BiomeManager.BiomeType type : types) {
+            tables[type.ordinal()] = AliasTable.compile(biomes[type.ordinal()], BiomeManager.isTypeListModded(type));
+        }
+    }
+
+    @Override
+    protected BiomeManager.BiomeEntry getWeightedBiomeEntry(BiomeManager.BiomeType type) {
+        AliasTable table = tables[type.ordinal()];
+        if (table == null) {
+            // Nothing to pick from, let vanilla handle (and fail on) this the way it always has
+            return super.getWeightedBiomeEntry(type);
+        }
+
+        int column = nextInt(table.entries.length);
+        return table.pick(column, nextInt(table.totalWeight));
+    }
+
+
+    /**
+     * Alias table with integer probabilities. Each column has capacity of "totalWeight", and holds its own entry with
+     * weight "probability" and the aliased entry with the remaining weight. Integer arithmetic keeps the distribution
+     * exact.
+     */
+    static final class AliasTable {
+        final BiomeManager.BiomeEntry[] entries;
+        final int[] probability;
+        final int[] alias;
+        final int totalWeight;
+
+        private AliasTable(BiomeManager.BiomeEntry[] entries, int[] probability, int[] alias, int totalWeight) {
+            this.entries = entries;
+            this.probability = probability;
+            this.alias = alias;
+            this.totalWeight = totalWeight;
+        }
+
+        /**
+         * Picks the entry for given column and roll
+         *
+         * @param column Uniformly random column, in range [0, entries.length)
+         * @param roll   Uniformly random roll, in range [0, totalWeight)
+         */
+        BiomeManager.BiomeEntry pick(int column, int roll) {
+            return roll < probability[column] ? entries[column] : entries[alias[column]];
+        }
+
+        @Nullable
+        static AliasTable compile(@Nullable List<BiomeManager.BiomeEntry> biomes, boolean modded) {
+            if (biomes == null || biomes.isEmpty()) {
+                return null;
+            }
+
+            BiomeManager.BiomeEntry[] entries = biomes.toArray(new BiomeManager.BiomeEntry[0]);
+            long[] weights = getEffectiveWeights(entries, modded);
+
+            long total = 0L;
+            for (long weight : weights) {
+                total += weight;
+            }
+            if (total <= 0L || total > Integer.MAX_VALUE) {
+                return null;
+            }
+
+            return build(entries, weights, (int) total);
+        }
+
+        /**
+         * Vanilla picks from unmodded lists with "nextInt(total / 10) * 10", effectively only sampling every tenth
+         * weight unit. Entries get as much weight as there are sampled units within their range.
+         */
+        private static long[] getEffectiveWeights(BiomeManager.BiomeEntry[] entries, boolean modded) {
+            long[] weights = new long[entries.length];
+            if (modded) {
+                for (int i = 0; i < entries.length; i++) {
+                    weights[i] = entries[i].itemWeight;
+                }
+                return weights;
+            }
+
+            long total = 0L;
+            for (BiomeManager.BiomeEntry entry : entries) {
+                total += entry.itemWeight;
+            }
+
+            long limit = (total / 10) * 10;
+            long start = 0L;
+            for (int i = 0; i < entries.length; i++) {
+                long end = Math.min(start + entries[i].itemWeight, limit);
+                weights[i] = end > start ? ceilDiv10(end) - ceilDiv10(start) : 0L;
+                start += entries[i].itemWeight;
+            }
+            return weights;
+        }
+
+        private static long ceilDiv10(long value) {
+            return (value + 9) / 10;
+        }
+
+        private static AliasTable build(BiomeManager.BiomeEntry[] entries, long[] weights, int totalWeight) {
+            int n = entries.length;
+            int[] probability = new int[n];
+            int[] alias = new int[n];
+
+            // Scale the weights so that on average each column is exactly full
+            long[] scaled = new long[n];
+            Deque<Integer> small = new ArrayDeque<>();
+            Deque<Integer> large = new ArrayDeque<>();
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n;
+                (scaled[i] < totalWeight ? small : large).push(i);
+            }
+
+            while (!small.isEmpty() && !large.isEmpty()) {
+                int less = small.pop();
+                int more = large.pop();
+
+                probability[less] = (int) scaled[less];
+                alias[less] = more;
+
+                scaled[more] -= totalWeight - scaled[less];
+                (scaled[more] < totalWeight ? small : large).push(more);
+            }
+
+            // With exact arithmetic, whatever is left is exactly full
+            while (!large.isEmpty()) {
+                int i = large.pop();
+                probability[i] = totalWeight;
+                alias[i] = i;
+            }
+            while (!small.isEmpty()) {
+                int i = small.pop();
+                probability[i] = totalWeight;
+                alias[i] = i;
+            }
+
+            return new AliasTable(entries, probability, alias, totalWeight);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package jakojaannos.api.world;
+
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Single named layer of per-block values in {@link IChunkDataManager}. Blocks without a value have value zero.
+ */
+public interface IChunkDataLayer {
+    /**
+     * Gets the name of this layer, used as key in chunk NBT
+     */
+    ResourceLocation getName();
+
+    /**
+     * Gets the value at given position. Positions in chunks which are not loaded have value zero.
+     */
+    int get(World world, BlockPos pos);
+
+    /**
+     * Sets the value at given position, loading the chunk if necessary
+     */
+    void set(World world, BlockPos pos, int value);
+}
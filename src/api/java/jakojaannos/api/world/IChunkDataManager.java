@@ -0,0 +1,23 @@
+package jakojaannos.api.world;
+
+import jakojaannos.api.lib.IApiInstance;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.registry.GameRegistry.ObjectHolder;
+
+/**
+ * Compact per-block storage for small primitive values (pollution, ownership, counters, ...), attached to chunks.
+ * Values are stored per chunk section in palette-compressed arrays, so sections with only a handful of distinct
+ * values cost a few bits per block. Data is saved to and loaded from chunk NBT, and dropped when the chunk unloads.
+ * <p>
+ * Get the instance via {@link ObjectHolder @ObjectHolder}:
+ * <pre><c>   @ObjectHolder("jakojaannos-lib:chunkdata")
+ * public static final IChunkDataManager CHUNK_DATA = null;</c></pre>
+ * Data lives on the server only and is not synced to clients. Use from the server thread.
+ */
+public interface IChunkDataManager extends IApiInstance {
+    /**
+     * Gets the layer with given name, creating it if it does not exist yet. Resolve layers once and keep the
+     * reference around.
+     */
+    IChunkDataLayer getLayer(ResourceLocation name);
+}
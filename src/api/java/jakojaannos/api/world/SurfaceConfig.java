@@ -0,0 +1,135 @@
+package jakojaannos.api.world;
+
+import net.minecraft.block.state.IBlockState;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable surface configuration of an {@link AdvancedBiomeBase}: block layers, stone and ocean blocks, bedrock depth
+ * and sea level fuzz. Biome variants which only differ in climate usually have identical surfaces, so configurations
+ * can be {@link #intern() interned} to have all of them share a single instance.
+ */
+public final class SurfaceConfig {
+    private static final Map<SurfaceConfig, SurfaceConfig> INTERNED = new HashMap<>();
+
+    private final BlockLayer[] layers;
+    private final BlockLayer[] underwaterLayers;
+    private final IBlockState stoneBlock;
+    private final IBlockState oceanBlock;
+    private final int bedrockDepth;
+    private final float seaLevelFuzzScale;
+    private final float seaLevelFuzzOffset;
+
+    public SurfaceConfig(BlockLayer[] layers, BlockLayer[] underwaterLayers, IBlockState stoneBlock, IBlockState oceanBlock, int bedrockDepth, float seaLevelFuzzScale, float seaLevelFuzzOffset) {
+        this.layers = layers.clone();
+        this.underwaterLayers = underwaterLayers.clone();
+        this.stoneBlock = stoneBlock;
+        this.oceanBlock = oceanBlock;
+        this.bedrockDepth = bedrockDepth;
+        this.seaLevelFuzzScale = seaLevelFuzzScale;
+        this.seaLevelFuzzOffset = seaLevelFuzzOffset;
+    }
+
+    /**
+     * Gets the number of distinct configurations interned so far
+     */
+    public static synchronized int getInternedCount() {
+        return INTERNED.size();
+    }
+
+    /**
+     * Gets the shared instance equal to this configuration
+     */
+    public SurfaceConfig intern() {
+        synchronized (SurfaceConfig.class) {
+            return INTERNED.computeIfAbsent(this, key -> key);
+        }
+    }
+
+
+    /**
+     * Gets the layers. Returned array is shared, DO NOT MODIFY.
+     */
+    public BlockLayer[] getLayers() {
+        return layers;
+    }
+
+    /**
+     * Gets the underwater layers. Returned array is shared, DO NOT MODIFY.
+     */
+    public BlockLayer[] getUnderwaterLayers() {
+        return underwaterLayers;
+    }
+
+    public IBlockState getStoneBlock() {
+        return stoneBlock;
+    }
+
+    public IBlockState getOceanBlock() {
+        return oceanBlock;
+    }
+
+    public int getBedrockDepth() {
+        return bedrockDepth;
+    }
+
+    public float getSeaLevelFuzzScale() {
+        return seaLevelFuzzScale;
+    }
+
+    public float getSeaLevelFuzzOffset() {
+        return seaLevelFuzzOffset;
+    }
+
+
+    public SurfaceConfig withLayers(BlockLayer[] layers, BlockLayer[] underwaterLayers) {
+        return new SurfaceConfig(layers, underwaterLayers, stoneBlock, oceanBlock, bedrockDepth, seaLevelFuzzScale, seaLevelFuzzOffset);
+    }
+
+    public SurfaceConfig withStoneBlock(IBlockState stoneBlock) {
+        return new SurfaceConfig(layers, underwaterLayers, stoneBlock, oceanBlock, bedrockDepth, seaLevelFuzzScale, seaLevelFuzzOffset);
+    }
+
+    public SurfaceConfig withOceanBlock(IBlockState oceanBlock) {
+        return new SurfaceConfig(layers, underwaterLayers, stoneBlock, oceanBlock, bedrockDepth, seaLevelFuzzScale, seaLevelFuzzOffset);
+    }
+
+    public SurfaceConfig withBedrockDepth(int bedrockDepth) {
+        return new SurfaceConfig(layers, underwaterLayers, stoneBlock, oceanBlock, bedrockDepth, seaLevelFuzzScale, seaLevelFuzzOffset);
+    }
+
+    public SurfaceConfig withSeaLevelFuzz(float scale, float offset) {
+        return new SurfaceConfig(layers, underwaterLayers, stoneBlock, oceanBlock, bedrockDepth, scale, offset);
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SurfaceConfig)) {
+            return false;
+        }
+
+        SurfaceConfig other = (SurfaceConfig) o;
+        return bedrockDepth == other.bedrockDepth
+                && Float.compare(seaLevelFuzzScale, other.seaLevelFuzzScale) == 0
+                && Float.compare(seaLevelFuzzOffset, other.seaLevelFuzzOffset) == 0
+                && stoneBlock == other.stoneBlock
+                && oceanBlock == other.oceanBlock
+                && Arrays.equals(layers, other.layers)
+                && Arrays.equals(underwaterLayers, other.underwaterLayers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(stoneBlock, oceanBlock, bedrockDepth, seaLevelFuzzScale, seaLevelFuzzOffset);
+        result = 31 * result + Arrays.hashCode(layers);
+        result = 31 * result + Arrays.hashCode(underwaterLayers);
+        return result;
+    }
+}
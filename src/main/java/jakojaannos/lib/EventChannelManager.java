@@ -0,0 +1,29 @@
+package jakojaannos.lib;
+
+import jakojaannos.api.event.EventChannel;
+import jakojaannos.api.event.IEventChannelManager;
+import jakojaannos.api.lib.IApiInstance;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.registries.IForgeRegistryEntry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EventChannelManager extends IForgeRegistryEntry.Impl<IApiInstance> implements IEventChannelManager {
+    private final Map<ResourceLocation, EventChannel<?>> channels = new ConcurrentHashMap<>();
+
+    @Override
+    public <L> EventChannel<L> getChannel(ResourceLocation name, Class<L> listenerType) {
+        EventChannel<?> channel = channels.computeIfAbsent(name, key -> new EventChannel<>(key, listenerType));
+        if (channel.getListenerType() != listenerType) {
+            throw new IllegalArgumentException(String.format(
+                    "Channel \"%s\" has listener type %s, requested %s",
+                    name,
+                    channel.getListenerType().getName(),
+                    listenerType.getName()));
+        }
+
+        // noinspection unchecked (Checked above)
+        return (EventChannel<L>) channel;
+    }
+}
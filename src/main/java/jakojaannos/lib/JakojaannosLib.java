@@ -1,16 +1,21 @@
 package jakojaannos.lib;
 
 import jakojaannos.api.mod.*;
+import jakojaannos.api.world.BiomeTypeIndex;
+import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+
 @Mod(modid = ModInfo.MODID, name = ModInfo.NAME, version = ModInfo.VERSION)
-public class JakojaannosLib extends ModMainBase<BlocksBase, ItemsBase, BiomesBase, CommandsBase, LootTablesBase> {
+public class JakojaannosLib extends ModMainBase<BlocksBase, ItemsBase, BiomesBase, CommandsBase, LootTablesBase, NetworkBase> {
     private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
 
     @Override
@@ -34,6 +39,13 @@ public class JakojaannosLib extends ModMainBase<BlocksBase, ItemsBase, BiomesBas
     @Override
     @Mod.EventHandler
     public void onInit(FMLPostInitializationEvent event) {
+        // Mods add most of their dictionary types during init, pick those up
+        BiomeTypeIndex.invalidate();
+    }
 
+    @Mod.EventHandler
+    public void onLoadComplete(FMLLoadCompleteEvent event) {
+        File gameDir = Loader.instance().getConfigDir().getParentFile();
+        StartupTimings.report(new File(gameDir, "logs/jakojaannos-lib-startup.json"));
     }
 }
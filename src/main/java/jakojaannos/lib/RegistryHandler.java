@@ -1,14 +1,16 @@
 package jakojaannos.lib;
 
 import jakojaannos.api.lib.IApiInstance;
+import jakojaannos.lib.world.ChunkDataManager;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.RegistryEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.registries.RegistryBuilder;
 
 /**
- * Registers registries to registry-registry
+ * Registers registries to registry-registry and lib's own managers to them
  */
 @Mod.EventBusSubscriber
 public class RegistryHandler {
@@ -22,4 +24,13 @@ public class RegistryHandler {
                 .setName(new ResourceLocation(ModInfo.MODID, "managerapi"))
                 .create();
     }
+
+    @SubscribeEvent
+    public static void onRegisterManagers(RegistryEvent.Register<IApiInstance> event) {
+        event.getRegistry().register(new EventChannelManager().setRegistryName(ModInfo.MODID, "eventchannels"));
+
+        ChunkDataManager chunkData = new ChunkDataManager();
+        MinecraftForge.EVENT_BUS.register(chunkData);
+        event.getRegistry().register(chunkData.setRegistryName(ModInfo.MODID, "chunkdata"));
+    }
 }
@@ -0,0 +1,101 @@
+package jakojaannos.lib.world;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Values of all layers in a single chunk. Sections are only allocated once a non-zero value is written to them.
+ */
+final class ChunkData {
+    private static final int SECTIONS = 16;
+
+    // Indexed by [layer][section]
+    private PalettedSection[][] layers = new PalettedSection[0][];
+
+    int get(int layer, int x, int y, int z) {
+        if (layer >= layers.length || layers[layer] == null) {
+            return 0;
+        }
+
+        PalettedSection section = layers[layer][y >> 4];
+        return section == null ? 0 : section.get(PalettedSection.index(x, y, z));
+    }
+
+    void set(int layer, int x, int y, int z, int value) {
+        if (layer >= layers.length) {
+            layers = Arrays.copyOf(layers, layer + 1);
+        }
+        if (layers[layer] == null) {
+            if (value == 0) {
+                return;
+            }
+            layers[layer] = new PalettedSection[SECTIONS];
+        }
+
+        PalettedSection section = layers[layer][y >> 4];
+        if (section == null) {
+            if (value == 0) {
+                return;
+            }
+            section = new PalettedSection();
+            layers[layer][y >> 4] = section;
+        }
+        section.set(PalettedSection.index(x, y, z), value);
+    }
+
+
+    /**
+     * Writes all non-empty layers to a compound, keyed by layer name
+     */
+    NBTTagCompound writeToNBT(List<ChunkDataLayer> layerList) {
+        NBTTagCompound compound = new NBTTagCompound();
+        for (int layer = 0; layer < layers.length; layer++) {
+            if (layers[layer] == null) {
+                continue;
+            }
+
+            NBTTagList sections = new NBTTagList();
+            for (int y = 0; y < SECTIONS; y++) {
+                PalettedSection section = layers[layer][y];
+                if (section == null) {
+                    continue;
+                }
+                if (section.isEmpty()) {
+                    layers[layer][y] = null;
+                    continue;
+                }
+
+                NBTTagCompound sectionCompound = section.writeToNBT();
+                sectionCompound.setByte("Y", (byte) y);
+                sections.appendTag(sectionCompound);
+            }
+
+            if (!sections.hasNoTags()) {
+                compound.setTag(layerList.get(layer).getName().toString(), sections);
+            }
+        }
+        return compound;
+    }
+
+    void readLayerFromNBT(int layer, NBTTagList sections) {
+        for (int i = 0; i < sections.tagCount(); i++) {
+            NBTTagCompound sectionCompound = sections.getCompoundTagAt(i);
+            int y = sectionCompound.getByte("Y");
+            PalettedSection section = PalettedSection.readFromNBT(sectionCompound);
+            if (section == null || y < 0 || y >= SECTIONS) {
+                continue;
+            }
+
+            if (layer >= layers.length) {
+                layers = Arrays.copyOf(layers, layer + 1);
+            }
+            if (layers[layer] == null) {
+                layers[layer] = new PalettedSection[SECTIONS];
+            }
+            layers[layer][y] = section;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package jakojaannos.lib.world;
+
+import jakojaannos.api.world.IChunkDataLayer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+final class ChunkDataLayer implements IChunkDataLayer {
+    private final ChunkDataManager manager;
+    private final ResourceLocation name;
+    private final int index;
+
+    ChunkDataLayer(ChunkDataManager manager, ResourceLocation name, int index) {
+        this.manager = manager;
+        this.name = name;
+        this.index = index;
+    }
+
+    int index() {
+        return index;
+    }
+
+    @Override
+    public ResourceLocation getName() {
+        return name;
+    }
+
+    @Override
+    public int get(World world, BlockPos pos) {
+        return manager.get(index, world, pos);
+    }
+
+    @Override
+    public void set(World world, BlockPos pos, int value) {
+        manager.set(index, world, pos, value);
+    }
+}
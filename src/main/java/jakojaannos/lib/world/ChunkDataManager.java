@@ -0,0 +1,145 @@
+package jakojaannos.lib.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import jakojaannos.api.lib.IApiInstance;
+import jakojaannos.api.world.IChunkDataLayer;
+import jakojaannos.api.world.IChunkDataManager;
+import jakojaannos.lib.ModInfo;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.registries.IForgeRegistryEntry;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+public class ChunkDataManager extends IForgeRegistryEntry.Impl<IApiInstance> implements IChunkDataManager {
+    private static final String NBT_KEY = ModInfo.MODID + ":chunkdata";
+
+    private final Map<ResourceLocation, ChunkDataLayer> layersByName = new HashMap<>();
+    private final List<ChunkDataLayer> layers = new ArrayList<>();
+    private final Map<World, Long2ObjectOpenHashMap<ChunkData>> worlds = new WeakHashMap<>();
+
+    @Override
+    public IChunkDataLayer getLayer(ResourceLocation name) {
+        return getOrCreateLayer(name);
+    }
+
+    int get(int layer, World world, BlockPos pos) {
+        if (pos.getY() < 0 || pos.getY() >= 256) {
+            return 0;
+        }
+
+        ChunkData data = getChunkData(world, pos.getX() >> 4, pos.getZ() >> 4);
+        return data == null ? 0 : data.get(layer, pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    void set(int layer, World world, BlockPos pos, int value) {
+        if (pos.getY() < 0 || pos.getY() >= 256) {
+            return;
+        }
+
+        // Clearing a value of a chunk without data would only create empty data
+        if (value == 0 && getChunkData(world, pos.getX() >> 4, pos.getZ() >> 4) == null) {
+            return;
+        }
+
+        Chunk chunk = world.getChunkFromBlockCoords(pos);
+        ChunkData data = getOrCreateChunkData(world, chunk.x, chunk.z);
+        data.set(layer, pos.getX(), pos.getY(), pos.getZ(), value);
+        chunk.markDirty();
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Events
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkDataEvent.Load event) {
+        if (!event.getData().hasKey(NBT_KEY, Constants.NBT.TAG_COMPOUND)) {
+            return;
+        }
+
+        Chunk chunk = event.getChunk();
+        NBTTagCompound compound = event.getData().getCompoundTag(NBT_KEY);
+        ChunkData data = getOrCreateChunkData(chunk.getWorld(), chunk.x, chunk.z);
+        for (String key : compound.getKeySet()) {
+            if (compound.hasKey(key, Constants.NBT.TAG_LIST)) {
+                int layer = getOrCreateLayer(new ResourceLocation(key)).index();
+                data.readLayerFromNBT(layer, compound.getTagList(key, Constants.NBT.TAG_COMPOUND));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkSave(ChunkDataEvent.Save event) {
+        Chunk chunk = event.getChunk();
+        ChunkData data = getChunkData(chunk.getWorld(), chunk.x, chunk.z);
+        if (data == null) {
+            return;
+        }
+
+        NBTTagCompound compound = data.writeToNBT(layers);
+        if (!compound.hasNoTags()) {
+            event.getData().setTag(NBT_KEY, compound);
+        }
+
+        // Chunks are saved right after unloading, drop the data once it is safely written
+        if (!chunk.isLoaded()) {
+            Long2ObjectOpenHashMap<ChunkData> chunks = worlds.get(chunk.getWorld());
+            if (chunks != null) {
+                chunks.remove(ChunkPos.asLong(chunk.x, chunk.z));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        worlds.remove(event.getWorld());
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private ChunkDataLayer getOrCreateLayer(ResourceLocation name) {
+        ChunkDataLayer layer = layersByName.get(name);
+        if (layer == null) {
+            layer = new ChunkDataLayer(this, name, layers.size());
+            layersByName.put(name, layer);
+            layers.add(layer);
+        }
+        return layer;
+    }
+
+    @Nullable
+    private ChunkData getChunkData(World world, int chunkX, int chunkZ) {
+        Long2ObjectOpenHashMap<ChunkData> chunks = worlds.get(world);
+        return chunks == null ? null : chunks.get(ChunkPos.asLong(chunkX, chunkZ));
+    }
+
+    private ChunkData getOrCreateChunkData(World world, int chunkX, int chunkZ) {
+        Long2ObjectOpenHashMap<ChunkData> chunks = worlds.computeIfAbsent(world, key -> new Long2ObjectOpenHashMap<>());
+
+        long key = ChunkPos.asLong(chunkX, chunkZ);
+        ChunkData data = chunks.get(key);
+        if (data == null) {
+            data = new ChunkData();
+            chunks.put(key, data);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,210 @@
+package jakojaannos.lib.world;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.BitArray;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * 16x16x16 values stored as indices to a palette of distinct values, packed using as few bits as the palette size
+ * allows. Works much like vanilla block state containers do.
+ */
+final class PalettedSection {
+    static final int SIZE = 16 * 16 * 16;
+
+    // Palettes up to this size are searched linearly, larger ones get a reverse lookup map
+    private static final int LINEAR_SEARCH_LIMIT = 16;
+
+    private int[] palette;
+    private int paletteSize;
+    @Nullable private Int2IntOpenHashMap inverse;
+
+    private int bits;
+    private BitArray data;
+
+    PalettedSection() {
+        this.palette = new int[2];
+        this.paletteSize = 1; // palette[0] is zero, the default value
+        this.bits = 1;
+        this.data = new BitArray(bits, SIZE);
+    }
+
+    static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    int get(int index) {
+        return palette[data.getAt(index)];
+    }
+
+    void set(int index, int value) {
+        int id = indexOf(value);
+        if (id < 0) {
+            id = addToPalette(value);
+        }
+        data.setAt(index, id);
+    }
+
+    /**
+     * Checks if all values are zero. Compacts the palette as a side effect.
+     */
+    boolean isEmpty() {
+        compact();
+        return paletteSize == 1 && palette[0] == 0;
+    }
+
+
+    NBTTagCompound writeToNBT() {
+        compact();
+
+        long[] longs = data.getBackingLongArray();
+        int[] packed = new int[longs.length * 2];
+        for (int i = 0; i < longs.length; i++) {
+            packed[2 * i] = (int) (longs[i] >>> 32);
+            packed[2 * i + 1] = (int) longs[i];
+        }
+
+        NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("Bits", (byte) bits);
+        compound.setIntArray("Palette", Arrays.copyOf(palette, paletteSize));
+        compound.setIntArray("Data", packed);
+        return compound;
+    }
+
+    /**
+     * Rejects sections whose palette does not start with zero or whose data refers past the end of the palette.
+     *
+     * @return section read from NBT or null if data was malformed
+     */
+    @Nullable
+    static PalettedSection readFromNBT(NBTTagCompound compound) {
+        int bits = compound.getByte("Bits");
+        int[] palette = compound.getIntArray("Palette");
+        int[] packed = compound.getIntArray("Data");
+        if (bits < 1 || bits > 32 || palette.length == 0 || palette.length > (1L << bits) || palette[0] != 0) {
+            return null;
+        }
+
+        BitArray data = new BitArray(bits, SIZE);
+        long[] longs = data.getBackingLongArray();
+        if (packed.length != longs.length * 2) {
+            return null;
+        }
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = (long) packed[2 * i] << 32 | (packed[2 * i + 1] & 0xFFFFFFFFL);
+        }
+        for (int i = 0; i < SIZE; i++) {
+            int id = data.getAt(i);
+            if (id < 0 || id >= palette.length) {
+                return null;
+            }
+        }
+
+        PalettedSection section = new PalettedSection();
+        section.palette = Arrays.copyOf(palette, Math.max(2, palette.length));
+        section.paletteSize = palette.length;
+        section.bits = bits;
+        section.data = data;
+        section.rebuildInverse();
+        return section;
+    }
+
+
+    private int indexOf(int value) {
+        if (inverse != null) {
+            return inverse.get(value);
+        }
+
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int addToPalette(int value) {
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, palette.length * 2);
+        }
+
+        int id = paletteSize++;
+        palette[id] = value;
+        if (inverse != null) {
+            inverse.put(value, id);
+        } else if (paletteSize > LINEAR_SEARCH_LIMIT) {
+            rebuildInverse();
+        }
+
+        if (paletteSize > (1 << bits)) {
+            resize(bits + 1);
+        }
+        return id;
+    }
+
+    private void resize(int newBits) {
+        BitArray newData = new BitArray(newBits, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            newData.setAt(i, data.getAt(i));
+        }
+        bits = newBits;
+        data = newData;
+    }
+
+    private void rebuildInverse() {
+        if (paletteSize <= LINEAR_SEARCH_LIMIT) {
+            inverse = null;
+            return;
+        }
+
+        inverse = new Int2IntOpenHashMap(paletteSize);
+        inverse.defaultReturnValue(-1);
+        for (int i = 0; i < paletteSize; i++) {
+            inverse.put(palette[i], i);
+        }
+    }
+
+    /**
+     * Drops palette entries no longer in use and shrinks the data array accordingly. Zero is kept at index zero.
+     */
+    private void compact() {
+        if (paletteSize == 1) {
+            return;
+        }
+
+        int[] remap = new int[paletteSize];
+        Arrays.fill(remap, -1);
+        remap[0] = 0;
+        int used = 1;
+        for (int i = 0; i < SIZE; i++) {
+            int id = data.getAt(i);
+            if (remap[id] < 0) {
+                remap[id] = used++;
+            }
+        }
+        if (used == paletteSize) {
+            return;
+        }
+
+        int[] newPalette = new int[Math.max(2, used)];
+        for (int id = 0; id < paletteSize; id++) {
+            if (remap[id] >= 0) {
+                newPalette[remap[id]] = palette[id];
+            }
+        }
+
+        int newBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(used - 1));
+        BitArray newData = new BitArray(newBits, SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            newData.setAt(i, remap[data.getAt(i)]);
+        }
+
+        palette = newPalette;
+        paletteSize = used;
+        bits = newBits;
+        data = newData;
+        rebuildInverse();
+    }
+}
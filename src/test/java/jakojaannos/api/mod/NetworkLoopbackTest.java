@@ -0,0 +1,193 @@
+package jakojaannos.api.mod;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+import net.minecraftforge.fml.relauncher.Side;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Loopback harness for {@link NetworkBase}. Frames are serialized the way the channel would serialize them and handed
+ * straight to the receiving side, so coalescing, framing, compression and dispatch can be exercised and measured
+ * without a client or a server.
+ */
+public class NetworkLoopbackTest {
+    private static final Logger LOGGER = LogManager.getLogger("jakojaannos-lib");
+
+    private static final int WARMUP_TICKS = 200;
+    private static final int TICKS = 1000;
+    private static final int MESSAGES_PER_TICK = 500;
+
+    @Test
+    public void throughput() {
+        LoopbackNetwork network = new LoopbackNetwork();
+        network.initMessages();
+        run(network, WARMUP_TICKS, MESSAGES_PER_TICK, 8);
+        network.reset();
+
+        long start = System.nanoTime();
+        run(network, TICKS, MESSAGES_PER_TICK, 8);
+        long elapsed = System.nanoTime() - start;
+
+        int messages = TICKS * MESSAGES_PER_TICK;
+        assertEquals(messages, network.received);
+        LOGGER.info("Loopback: {} messages in {} frames ({} bytes on wire) in {} ms, {} messages/s",
+                messages, network.frames, network.wireBytes, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                (long) (messages / (elapsed / 1.0e9)));
+    }
+
+    @Test
+    public void messagesOfATickAreCoalescedToSingleFrame() {
+        LoopbackNetwork network = new LoopbackNetwork();
+        network.initMessages();
+        run(network, 1, 100, 8);
+
+        assertEquals(100, network.received);
+        assertEquals(1, network.frames);
+    }
+
+    @Test
+    public void serverboundFramesStayWithinPayloadLimit() {
+        LoopbackNetwork network = new LoopbackNetwork();
+        network.initMessages();
+        // Random data does not compress, so frames are split by their raw size
+        run(network, 1, 2000, 100);
+
+        assertEquals(2000, network.received);
+        assertTrue("Expected the tick to be split to multiple frames", network.frames > 1);
+        assertTrue("Frame of " + network.largestFrame + " bytes exceeds the payload limit",
+                network.largestFrame < 32767);
+    }
+
+    @Test
+    public void largeFramesAreCompressed() {
+        LoopbackNetwork network = new LoopbackNetwork();
+        network.initMessages();
+        TestMessage message = new TestMessage(0, new byte[8192]);
+        network.sendToServer(message);
+        network.onClientTick(new TickEvent.ClientTickEvent(TickEvent.Phase.END));
+
+        assertEquals(1, network.received);
+        assertTrue("Frame of " + network.wireBytes + " bytes was not compressed", network.wireBytes < 8192);
+    }
+
+    @Test
+    public void oversizedMessagesAreRejected() {
+        LoopbackNetwork network = new LoopbackNetwork();
+        network.initMessages();
+        network.sendToServer(new TestMessage(0, new byte[16]));
+        try {
+            network.sendToServer(new TestMessage(1, new byte[NetworkBase.MAX_SERVERBOUND_FRAME_SIZE]));
+            fail("Expected message larger than the frame cap to be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Pending frame must be left intact
+        network.sendToServer(new TestMessage(1, new byte[16]));
+        network.onClientTick(new TickEvent.ClientTickEvent(TickEvent.Phase.END));
+        assertEquals(2, network.received);
+        assertEquals(1, network.frames);
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void run(LoopbackNetwork network, int ticks, int messagesPerTick, int dataSize) {
+        Random random = new Random(0L);
+        byte[] data = new byte[dataSize];
+        TickEvent.ClientTickEvent tickEnd = new TickEvent.ClientTickEvent(TickEvent.Phase.END);
+
+        int sequence = network.received;
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int i = 0; i < messagesPerTick; i++) {
+                random.nextBytes(data);
+                network.sendToServer(new TestMessage(sequence++, data));
+            }
+            network.onClientTick(tickEnd);
+        }
+    }
+
+
+    private static final class LoopbackNetwork extends NetworkBase {
+        int received;
+        int frames;
+        long wireBytes;
+        int largestFrame;
+
+        @Override
+        public void initMessages() {
+            register(TestMessage.class, (message, ctx) -> {
+                assertEquals("Messages arrived out of order", received, message.sequence);
+                received++;
+                return null;
+            }, Side.SERVER);
+        }
+
+        void reset() {
+            received = 0;
+            frames = 0;
+            wireBytes = 0L;
+            largestFrame = 0;
+        }
+
+        @Override
+        void transmit(FrameMessage message, @Nullable EntityPlayerMP receiver) {
+            // Serialize like the channel does, plus one byte for the discriminator
+            ByteBuf wire = Unpooled.buffer();
+            try {
+                message.toBytes(wire);
+                int size = wire.readableBytes() + 1;
+                frames++;
+                wireBytes += size;
+                largestFrame = Math.max(largestFrame, size);
+
+                FrameMessage loopedBack = new FrameMessage();
+                loopedBack.fromBytes(wire);
+                receive(loopedBack, new MessageContext(null, Side.SERVER));
+            } finally {
+                wire.release();
+            }
+        }
+    }
+
+    public static final class TestMessage implements IMessage {
+        int sequence;
+        byte[] data;
+
+        public TestMessage() {
+        }
+
+        TestMessage(int sequence, byte[] data) {
+            this.sequence = sequence;
+            this.data = data;
+        }
+
+        @Override
+        public void fromBytes(ByteBuf buf) {
+            sequence = buf.readInt();
+            data = new byte[buf.readableBytes()];
+            buf.readBytes(data);
+        }
+
+        @Override
+        public void toBytes(ByteBuf buf) {
+            buf.writeInt(sequence);
+            buf.writeBytes(data);
+        }
+    }
+}
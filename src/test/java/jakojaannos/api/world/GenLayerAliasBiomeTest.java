@@ -0,0 +1,145 @@
+package jakojaannos.api.world;
+
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.WeightedRandom;
+import net.minecraftforge.common.BiomeManager;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Checks that {@link GenLayerAliasBiome.AliasTable} reproduces the exact distribution of vanilla's weighted biome
+ * selection. Both sides are enumerated over every possible random value, so the comparison is exact instead of
+ * statistical: vanilla over every weight it can roll, the alias table over every column and roll.
+ */
+public class GenLayerAliasBiomeTest {
+    private static final int RANDOM_LISTS = 200;
+
+    @BeforeClass
+    public static void setUp() {
+        Bootstrap.register();
+    }
+
+
+    @Test
+    public void moddedListsMatchVanilla() {
+        assertMatchesVanilla(entries(7, 13, 25), true);
+        assertMatchesVanilla(entries(10, 10, 10, 10), true);
+        assertMatchesVanilla(entries(1), true);
+        assertMatchesVanilla(entries(0, 5, 0, 3), true);
+    }
+
+    @Test
+    public void unmoddedListsMatchVanilla() {
+        assertMatchesVanilla(entries(10, 10, 10, 10, 10, 10), false);
+        assertMatchesVanilla(entries(30, 20, 10), false);
+    }
+
+    @Test
+    public void unmoddedListsWithTotalNotMultipleOfTenMatchVanilla() {
+        // Total 45, vanilla only ever rolls 0, 10, 20 and 30
+        assertMatchesVanilla(entries(7, 13, 25), false);
+        // Total 12, vanilla only ever rolls 0
+        assertMatchesVanilla(entries(3, 4, 5), false);
+        // Entries narrower than the sampling step, some never get picked
+        assertMatchesVanilla(entries(4, 3, 2, 9, 1, 17, 5), false);
+    }
+
+    @Test
+    public void unmoddedListsWithTotalBelowTenHaveNoTable() {
+        // Vanilla would call nextInt(0) here, the layer falls back to vanilla behavior
+        assertNull(GenLayerAliasBiome.AliasTable.compile(entries(3, 4), false));
+    }
+
+    @Test
+    public void emptyListsHaveNoTable() {
+        assertNull(GenLayerAliasBiome.AliasTable.compile(null, true));
+        assertNull(GenLayerAliasBiome.AliasTable.compile(new ArrayList<>(), true));
+        assertNull(GenLayerAliasBiome.AliasTable.compile(entries(0, 0), true));
+    }
+
+    @Test
+    public void randomListsMatchVanilla() {
+        Random random = new Random(1234L);
+        for (int i = 0; i < RANDOM_LISTS; i++) {
+            int[] weights = new int[1 + random.nextInt(24)];
+            int total = 0;
+            for (int j = 0; j < weights.length; j++) {
+                weights[j] = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(100);
+                total += weights[j];
+            }
+
+            if (total > 0) {
+                assertMatchesVanilla(entries(weights), true);
+            }
+            if (total >= 10) {
+                assertMatchesVanilla(entries(weights), false);
+            }
+        }
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static void assertMatchesVanilla(List<BiomeManager.BiomeEntry> biomes, boolean modded) {
+        Map<BiomeManager.BiomeEntry, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < biomes.size(); i++) {
+            indices.put(biomes.get(i), i);
+        }
+
+        // Vanilla, see GenLayerBiome#getWeightedBiomeEntry
+        int totalWeight = WeightedRandom.getTotalWeight(biomes);
+        int vanillaRolls = modded ? totalWeight : totalWeight / 10;
+        long[] vanilla = new long[biomes.size()];
+        for (int roll = 0; roll < vanillaRolls; roll++) {
+            int weight = modded ? roll : roll * 10;
+            vanilla[indices.get(WeightedRandom.getRandomItem(biomes, weight))]++;
+        }
+
+        GenLayerAliasBiome.AliasTable table = GenLayerAliasBiome.AliasTable.compile(biomes, modded);
+        assertNotNull(table);
+        long[] alias = new long[biomes.size()];
+        for (int column = 0; column < table.entries.length; column++) {
+            for (int roll = 0; roll < table.totalWeight; roll++) {
+                alias[indices.get(table.pick(column, roll))]++;
+            }
+        }
+        long aliasRolls = (long) table.entries.length * table.totalWeight;
+
+        // Compare probabilities "vanilla[i] / vanillaRolls" and "alias[i] / aliasRolls" without division
+        for (int i = 0; i < biomes.size(); i++) {
+            assertEquals(String.format("Probability of entry %d in %s list with weights %s",
+                    i, modded ? "modded" : "unmodded", weightsOf(biomes)),
+                    vanilla[i] * aliasRolls,
+                    alias[i] * vanillaRolls);
+        }
+    }
+
+    private static List<BiomeManager.BiomeEntry> entries(int... weights) {
+        List<BiomeManager.BiomeEntry> entries = new ArrayList<>(weights.length);
+        for (int weight : weights) {
+            // Entries are told apart by identity, the biome itself does not matter
+            entries.add(new BiomeManager.BiomeEntry(null, weight));
+        }
+        return entries;
+    }
+
+    private static String weightsOf(List<BiomeManager.BiomeEntry> biomes) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < biomes.size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(biomes.get(i).itemWeight);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,218 @@
+package jakojaannos.api.world;
+
+import com.sun.management.ThreadMXBean;
+import jakojaannos.api.helpers.BlockHelper;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.ChunkPrimer;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Guards the allocation-free contract of the world-gen hot paths. Each hot path is first run for a few warm-up passes,
+ * so that class initialization and lazily built caches are not counted, after which the bytes allocated by the test
+ * thread are measured over many columns.
+ * <p>
+ * Budgets are given in bytes per column (or per call) and can be overridden with system properties, which the build
+ * forwards from project properties of the same name:
+ * <ul>
+ * <li> <c>allocation.terrainBytesPerColumn</c> for {@link AdvancedBiomeBase#genTerrainBlocks}
+ * <li> <c>allocation.lookupBytesPerColumn</c> for {@link AdvancedBiomeBase#generateLookup}
+ * <li> <c>allocation.blockHelperBytesPerCall</c> for {@link BlockHelper#stringToBlockstateWithFallback}
+ * </ul>
+ * Terrain budgets default to less than the size of the smallest possible object, so any per-column allocation fails.
+ * Block name resolution has to parse a {@link net.minecraft.util.ResourceLocation}, so it gets a small fixed budget.
+ */
+public class WorldGenAllocationTest {
+    private static final double TERRAIN_BUDGET = budget("allocation.terrainBytesPerColumn", 0.5);
+    private static final double LOOKUP_BUDGET = budget("allocation.lookupBytesPerColumn", 0.5);
+    private static final double BLOCK_HELPER_BUDGET = budget("allocation.blockHelperBytesPerCall", 512.0);
+
+    private static final int WARMUP_PASSES = 5;
+    private static final int CHUNKS = 64;
+    private static final int SEA_LEVEL = 63;
+    private static final String[] BLOCK_NAMES = {
+            "minecraft:stone", "dirt", "minecraft:sand", "gravel", "minecraft:not_a_block", "MINECRAFT:GRASS",
+    };
+
+    private static ThreadMXBean threads;
+    private static long measurementOverhead;
+
+    @BeforeClass
+    public static void setUp() {
+        Assume.assumeTrue("Per-thread allocation counters are not available",
+                ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+        threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Per-thread allocation counters are not supported", threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Reading the counter may allocate by itself, measure how much so it can be subtracted
+        measurementOverhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long before = allocatedBytes();
+            measurementOverhead = Math.min(measurementOverhead, allocatedBytes() - before);
+        }
+
+        Bootstrap.register();
+    }
+
+
+    @Test
+    public void genTerrainBlocksDoesNotAllocate() {
+        TestBiome biome = new TestBiome();
+        ChunkPrimer primer = new ChunkPrimer();
+        Random random = new Random(0L);
+
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            generateTerrain(biome, primer, random);
+        }
+
+        long allocated = generateTerrain(biome, primer, random);
+        assertWithinBudget("genTerrainBlocks", allocated, CHUNKS * 256, TERRAIN_BUDGET);
+    }
+
+    @Test
+    public void generateLookupDoesNotAllocate() {
+        TestBiome biome = new TestBiome();
+        IBlockState[] lookup = new IBlockState[256];
+        Random random = new Random(0L);
+
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            generateLookups(biome, lookup, random);
+        }
+
+        long allocated = generateLookups(biome, lookup, random);
+        assertWithinBudget("generateLookup", allocated, CHUNKS * 256, LOOKUP_BUDGET);
+    }
+
+    @Test
+    public void blockHelperResolutionStaysWithinBudget() {
+        IBlockState fallback = Blocks.STONE.getDefaultState();
+        int calls = CHUNKS * 256;
+
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            resolveBlocks(fallback, calls);
+        }
+
+        long allocated = resolveBlocks(fallback, calls);
+        assertWithinBudget("BlockHelper.stringToBlockstateWithFallback", allocated, calls, BLOCK_HELPER_BUDGET);
+    }
+
+
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+// Private Implementation
+////////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Generates terrain for all test chunks. Only the biome's work is measured, filling the primer with base terrain is
+     * done outside the measured region.
+     *
+     * @return bytes allocated while generating
+     */
+    private static long generateTerrain(TestBiome biome, ChunkPrimer primer, Random random) {
+        long allocated = 0L;
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            int chunkX = (chunk % 8) << 4;
+            int chunkZ = (chunk / 8) << 4;
+            fillBaseTerrain(primer, chunkX, chunkZ);
+
+            long before = allocatedBytes();
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    biome.genTerrainBlocks(null, random, primer, chunkX + x, chunkZ + z, noise(chunkX + x, chunkZ + z));
+                }
+            }
+            allocated += allocatedBytes() - before - measurementOverhead;
+        }
+        return allocated;
+    }
+
+    private static long generateLookups(TestBiome biome, IBlockState[] lookup, Random random) {
+        long before = allocatedBytes();
+        for (int column = 0; column < CHUNKS * 256; column++) {
+            int x = column & 127;
+            int z = column >> 7;
+            biome.generateLookup(random, terrainHeight(x, z), SEA_LEVEL, x, z, noise(x, z), lookup);
+        }
+        return allocatedBytes() - before - measurementOverhead;
+    }
+
+    private static long resolveBlocks(IBlockState fallback, int calls) {
+        long before = allocatedBytes();
+        for (int i = 0; i < calls; i++) {
+            BlockHelper.stringToBlockstateWithFallback(fallback, BLOCK_NAMES[i % BLOCK_NAMES.length]);
+        }
+        return allocatedBytes() - before - measurementOverhead;
+    }
+
+    /**
+     * Fills the primer like the chunk generator does before biomes replace blocks: stone up to terrain height, water up
+     * to sea level and air above that. Vanilla has x and z swapped in the primer, so do we.
+     */
+    private static void fillBaseTerrain(ChunkPrimer primer, int chunkX, int chunkZ) {
+        IBlockState stone = Blocks.STONE.getDefaultState();
+        IBlockState water = Blocks.WATER.getDefaultState();
+        IBlockState air = Blocks.AIR.getDefaultState();
+
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int height = terrainHeight(chunkX + x, chunkZ + z);
+                for (int y = 0; y < 256; y++) {
+                    primer.setBlockState(z, y, x, y <= height ? stone : (y <= SEA_LEVEL ? water : air));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rolling terrain crossing the sea level, so both dry and underwater layers get used
+     */
+    private static int terrainHeight(int x, int z) {
+        return 64 + (int) (24.0 * Math.sin(x * 0.11) * Math.cos(z * 0.07));
+    }
+
+    private static double noise(int x, int z) {
+        return Math.sin(x * 0.3 + z * 0.17);
+    }
+
+    private static long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void assertWithinBudget(String name, long allocated, int count, double budget) {
+        double perCount = Math.max(0L, allocated) / (double) count;
+        assertTrue(String.format("%s allocated %.2f bytes per column/call (%d bytes in total), budget is %.2f bytes",
+                name, perCount, allocated, budget),
+                perCount <= budget);
+    }
+
+    private static double budget(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+
+    private static final class TestBiome extends AdvancedBiomeBase {
+        TestBiome() {
+            super(new Biome.BiomeProperties("allocation_test"));
+            setSeaLevelOverride(SEA_LEVEL);
+            setSeaLevelFuzz(2.0f, 0.0f);
+            setLayers(new BlockLayer[]{
+                            new BlockLayer(1, Blocks.GRASS.getDefaultState()),
+                            new BlockLayer(3, Blocks.DIRT.getDefaultState()),
+                    },
+                    new BlockLayer[]{
+                            new BlockLayer(4, Blocks.SAND.getDefaultState()),
+                            new BlockLayer(2, Blocks.GRAVEL.getDefaultState()),
+                    });
+        }
+    }
+}